@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.automation.jsscripting.internal.ScriptMetricsRegistry.ScriptMetrics;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionMetrics;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link JSScriptingConsoleCommandExtension} shows the load and rule execution metrics of the loaded scripts on
+ * the console.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class JSScriptingConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+
+    private final ScriptMetricsRegistry scriptMetricsRegistry;
+
+    @Activate
+    public JSScriptingConsoleCommandExtension(final @Reference ScriptMetricsRegistry scriptMetricsRegistry) {
+        super("jsscripting", "Interact with the JavaScript Scripting add-on.");
+        this.scriptMetricsRegistry = scriptMetricsRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_METRICS.equals(args[0])) {
+            printMetrics(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printMetrics(Console console) {
+        Map<String, ScriptMetrics> scripts = scriptMetricsRegistry.getScripts();
+        if (scripts.isEmpty()) {
+            console.println("No scripts loaded.");
+            return;
+        }
+        scripts.forEach((engineIdentifier, metrics) -> {
+            console.println(String.format("Script '%s': %s", engineIdentifier, metrics.load()));
+            for (Map.Entry<String, RuleExecutionMetrics> rule : metrics.rules().getMetrics().entrySet()) {
+                console.println(String.format("  Rule '%s': %s", rule.getKey(), rule.getValue()));
+            }
+        });
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(SUBCMD_METRICS,
+                "lists the load time and memory of each script and the execution times of its rules"));
+    }
+}
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.FileSystems;
@@ -30,12 +31,15 @@ import java.nio.file.attribute.FileAttribute;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptException;
@@ -51,6 +55,7 @@ import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChanne
 import org.openhab.automation.jsscripting.internal.fs.ReadOnlySeekableByteArrayChannel;
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocableAndAutoCloseable;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionPool;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.QuantityType;
@@ -67,6 +72,7 @@ import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
  * @author Florian Hotze - Create lock object for multi-thread synchronization; Inject the {@link JSRuntimeFeatures}
  *         into the JS context; Fix memory leak caused by HostObject by making HostAccess reference static; Switch to
  *         {@link Lock} for multi-thread synchronization; globals & openhab-js injection code caching
+ * @author agent - Context pool for stateless scripts; Script load metrics
  */
 public class OpenhabGraalJSScriptEngine
         extends InvocationInterceptingScriptEngineWithInvocableAndAutoCloseable<GraalJSScriptEngine> {
@@ -95,6 +101,14 @@ public class OpenhabGraalJSScriptEngine
     private static final String OPENHAB_JS_INJECTION_CODE = "Object.assign(this, require('openhab'));";
 
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
+    /** Binding set by the script engine manager, its constant is internal to openHAB core */
+    private static final String CONTEXT_KEY_DEPENDENCY_LISTENER = "oh.dependency-listener";
+    /** Directive at the start of a script that allows to run its rules in a pool of contexts */
+    private static final Pattern STATELESS_DIRECTIVE = Pattern
+            .compile("^\\s*(?://[^\\n]*\\n\\s*|/\\*.*?\\*/\\s*)*(['\"])use stateless\\1", Pattern.DOTALL);
+    /** Bindings set by the script engine manager that the additional contexts of a pool need as well */
+    private static final List<String> POOLED_CONTEXT_ATTRIBUTES = List.of(CONTEXT_KEY_ENGINE_IDENTIFIER,
+            CONTEXT_KEY_EXTENSION_ACCESSOR, CONTEXT_KEY_DEPENDENCY_LISTENER);
     /** Final CommonJS search path for our library */
     private static final Path NODE_DIR = Paths.get("node_modules");
     /** Shared Polyglot {@link Engine} across all instances of {@link OpenhabGraalJSScriptEngine} */
@@ -132,6 +146,14 @@ public class OpenhabGraalJSScriptEngine
     /** {@link Lock} synchronization of multi-thread access */
     private final Lock lock = new ReentrantLock();
     private final JSRuntimeFeatures jsRuntimeFeatures;
+    private final JSScriptServiceUtil jsScriptServiceUtil;
+    private final JSDependencyTracker jsDependencyTracker;
+    private final ScriptMetricsRegistry scriptMetricsRegistry;
+    private final RuleExecutionPool ruleExecutionPool;
+    private final boolean isPooledContext;
+    /** Additional contexts that run the rules of a stateless script in parallel */
+    private final List<OpenhabGraalJSScriptEngine> pooledEngines = new ArrayList<>();
+    private final int contextPoolSize;
 
     // these fields start as null because they are populated on first use
     private String engineIdentifier;
@@ -145,11 +167,28 @@ public class OpenhabGraalJSScriptEngine
      * Creates an implementation of ScriptEngine (& Invocable), wrapping the contained engine, that tracks the script
      * lifecycle and provides hooks for scripts to do so too.
      */
-    public OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled,
-            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
+    public OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled, int contextPoolSize,
+            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker,
+            ScriptMetricsRegistry scriptMetricsRegistry) {
+        this(injectionEnabled, injectionCachingEnabled, contextPoolSize, jsScriptServiceUtil, jsDependencyTracker,
+                scriptMetricsRegistry, null);
+    }
+
+    /**
+     * @param ruleExecutionPool the pool of the primary context, if this is an additional context of a stateless script
+     */
+    private OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled, int contextPoolSize,
+            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker,
+            ScriptMetricsRegistry scriptMetricsRegistry, @Nullable RuleExecutionPool ruleExecutionPool) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
         this.injectionEnabled = injectionEnabled;
         this.injectionCachingEnabled = injectionCachingEnabled;
+        this.contextPoolSize = contextPoolSize;
+        this.jsScriptServiceUtil = jsScriptServiceUtil;
+        this.jsDependencyTracker = jsDependencyTracker;
+        this.scriptMetricsRegistry = scriptMetricsRegistry;
+        this.isPooledContext = ruleExecutionPool != null;
+        this.ruleExecutionPool = ruleExecutionPool != null ? ruleExecutionPool : new RuleExecutionPool(lock);
         this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock);
 
         LOGGER.debug("Initializing GraalJS script engine...");
@@ -250,15 +289,14 @@ public class OpenhabGraalJSScriptEngine
             throw new IllegalStateException("Failed to retrieve script extension accessor from engine bindings");
         }
 
-        scriptDependencyListener = (Consumer<String>) ctx
-                .getAttribute("oh.dependency-listener"/* CONTEXT_KEY_DEPENDENCY_LISTENER */);
+        scriptDependencyListener = (Consumer<String>) ctx.getAttribute(CONTEXT_KEY_DEPENDENCY_LISTENER);
         if (scriptDependencyListener == null) {
             LOGGER.warn(
                     "Failed to retrieve script script dependency listener from engine bindings. Script dependency tracking will be disabled.");
         }
 
         ScriptExtensionModuleProvider scriptExtensionModuleProvider = new ScriptExtensionModuleProvider(
-                scriptExtensionAccessor, lock);
+                scriptExtensionAccessor, lock, ruleExecutionPool);
 
         // Wrap the "require" function to also allow loading modules from the ScriptExtensionModuleProvider
         Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn = originalRequireFn -> moduleName -> scriptExtensionModuleProvider
@@ -305,9 +343,74 @@ public class OpenhabGraalJSScriptEngine
         return super.afterThrowsInvocation(e);
     }
 
+    /**
+     * Evaluates a script file. If the context pool is enabled and the script starts with the "use stateless"
+     * directive, the script is evaluated in additional contexts afterwards, so its rules can run in parallel.
+     */
+    @Override
+    public Object eval(Reader reader) throws ScriptException {
+        ScriptLoadMetrics loadMetrics = new ScriptLoadMetrics();
+        try {
+            if (contextPoolSize <= 1) {
+                return super.eval(reader);
+            }
+            StringWriter script = new StringWriter();
+            try {
+                reader.transferTo(script);
+            } catch (IOException e) {
+                throw new ScriptException(e);
+            }
+            Object result = super.eval(script.toString());
+            if (STATELESS_DIRECTIVE.matcher(script.getBuffer()).lookingAt()) {
+                createPooledContexts(script.toString());
+            }
+            return result;
+        } finally {
+            loadMetrics.loaded(engineIdentifier);
+            if (!isPooledContext && engineIdentifier != null) {
+                scriptMetricsRegistry.add(engineIdentifier, loadMetrics, ruleExecutionPool);
+            }
+        }
+    }
+
+    private void createPooledContexts(String script) {
+        ScriptContext ctx = delegate.getContext();
+        long start = System.nanoTime();
+        for (int i = 1; i < contextPoolSize; i++) {
+            OpenhabGraalJSScriptEngine pooledEngine = new OpenhabGraalJSScriptEngine(injectionEnabled,
+                    injectionCachingEnabled, 1, jsScriptServiceUtil, jsDependencyTracker, scriptMetricsRegistry,
+                    ruleExecutionPool);
+            for (String attribute : POOLED_CONTEXT_ATTRIBUTES) {
+                Object value = ctx.getAttribute(attribute);
+                if (value != null) {
+                    pooledEngine.getContext().setAttribute(attribute, value, ScriptContext.ENGINE_SCOPE);
+                }
+            }
+            try {
+                pooledEngine.eval(script);
+            } catch (ScriptException e) {
+                LOGGER.warn("Failed to evaluate stateless script {} in an additional context: {}", engineIdentifier,
+                        e.getMessage());
+                pooledEngine.close();
+                break;
+            }
+            pooledEngines.add(pooledEngine);
+        }
+        LOGGER.debug("Created {} additional contexts for stateless script {} in {} ms", pooledEngines.size(),
+                engineIdentifier, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
     @Override
     public void close() {
         jsRuntimeFeatures.close();
+        pooledEngines.forEach(OpenhabGraalJSScriptEngine::close);
+        pooledEngines.clear();
+        if (!isPooledContext) {
+            ruleExecutionPool.logMetrics();
+            if (engineIdentifier != null) {
+                scriptMetricsRegistry.remove(engineIdentifier, ruleExecutionPool);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the time and memory it takes to initialize a script file, i.e. to create its context, inject the globals
+ * and the library and evaluate the script.
+ * <p>
+ * The memory is the heap allocated by the loading thread. It is an upper bound for what the context retains and is
+ * only available on JVMs that support per thread allocation accounting.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScriptLoadMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptLoadMetrics.class);
+    private static final com.sun.management.@Nullable ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private final long startNanos = System.nanoTime();
+    private final long startAllocatedBytes = allocatedBytes();
+    private long loadMillis = -1;
+    private long allocatedKiB = -1;
+
+    /**
+     * Records and logs the time and memory used since this instance was created.
+     *
+     * @param scriptIdentifier the identifier of the script that was loaded
+     */
+    void loaded(@Nullable String scriptIdentifier) {
+        loadMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        long endAllocatedBytes = allocatedBytes();
+        if (startAllocatedBytes < 0 || endAllocatedBytes < 0) {
+            LOGGER.debug("Initialized script {} in {} ms", scriptIdentifier, loadMillis);
+        } else {
+            allocatedKiB = (endAllocatedBytes - startAllocatedBytes) / 1024;
+            LOGGER.debug("Initialized script {} in {} ms, allocating {} KiB", scriptIdentifier, loadMillis,
+                    allocatedKiB);
+        }
+    }
+
+    /**
+     * @return the time it took to load the script, or -1 if it is still loading
+     */
+    long getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * @return the memory allocated while loading the script, or -1 if it is unknown
+     */
+    long getAllocatedKiB() {
+        return allocatedKiB;
+    }
+
+    @Override
+    public String toString() {
+        return allocatedKiB < 0 ? "load=" + loadMillis + " ms"
+                : "load=" + loadMillis + " ms, allocated=" + allocatedKiB + " KiB";
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean localThreadMXBean = THREAD_MX_BEAN;
+        return localThreadMXBean == null ? -1 : localThreadMXBean.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.@Nullable ThreadMXBean getThreadMXBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                    && threadMXBean.isThreadAllocatedMemorySupported()
+                    && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return threadMXBean;
+            }
+        } catch (LinkageError e) {
+            // not a HotSpot based JVM
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionPool;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Keeps the load and rule execution metrics of the loaded scripts, so they can be shown on the console.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ScriptMetricsRegistry.class)
+@NonNullByDefault
+public class ScriptMetricsRegistry {
+
+    private final Map<String, ScriptMetrics> scripts = new ConcurrentHashMap<>();
+
+    /**
+     * The metrics of a loaded script.
+     *
+     * @param load the time and memory it took to load the script
+     * @param rules the rules of the script
+     */
+    record ScriptMetrics(ScriptLoadMetrics load, RuleExecutionPool rules) {
+    }
+
+    void add(String engineIdentifier, ScriptLoadMetrics load, RuleExecutionPool rules) {
+        scripts.put(engineIdentifier, new ScriptMetrics(load, rules));
+    }
+
+    void remove(String engineIdentifier, RuleExecutionPool rules) {
+        // only if it was not replaced by a new engine for the same script in the meantime
+        scripts.computeIfPresent(engineIdentifier, (key, metrics) -> metrics.rules() == rules ? null : metrics);
+    }
+
+    /**
+     * @return the metrics of the loaded scripts, by engine identifier
+     */
+    Map<String, ScriptMetrics> getScripts() {
+        return new TreeMap<>(scripts);
+    }
+}
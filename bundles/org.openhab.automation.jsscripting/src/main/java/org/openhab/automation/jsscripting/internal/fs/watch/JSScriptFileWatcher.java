@@ -14,18 +14,24 @@ package org.openhab.automation.jsscripting.internal.fs.watch;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineManager;
 import org.openhab.core.automation.module.script.rulesupport.loader.AbstractScriptFileWatcher;
 import org.openhab.core.automation.module.script.rulesupport.loader.ScriptFileWatcher;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.service.ReadyService;
 import org.openhab.core.service.StartLevelService;
 import org.openhab.core.service.WatchService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 
 /**
@@ -33,17 +39,72 @@ import org.osgi.service.component.annotations.Reference;
  *
  * @author Jonathan Gilbert - Initial contribution
  * @author Jan N. Klug - Refactored to new WatchService
+ * @author agent - Load script files in parallel
  */
-@Component(immediate = true, service = { ScriptFileWatcher.class, ScriptDependencyTracker.Listener.class })
+@Component(immediate = true, service = { ScriptFileWatcher.class,
+        ScriptDependencyTracker.Listener.class }, configurationPid = "org.openhab.jsscripting")
 @NonNullByDefault
 public class JSScriptFileWatcher extends AbstractScriptFileWatcher {
     private static final String FILE_DIRECTORY = "automation" + File.separator + "js";
+    private static final String CFG_SCRIPT_LOADING_THREADS = "scriptLoadingThreads";
+
+    // set by getScheduler(), which is called from the super constructor, so it must not have an initializer
+    private @Nullable ScriptLoadingExecutor loadingExecutor;
 
     @Activate
     public JSScriptFileWatcher(final @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService,
             final @Reference ScriptEngineManager manager, final @Reference ReadyService readyService,
-            final @Reference StartLevelService startLevelService) {
+            final @Reference StartLevelService startLevelService, Map<String, Object> config) {
         super(watchService, manager, readyService, startLevelService, FILE_DIRECTORY, true);
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, ?> config) {
+        int threads = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get(CFG_SCRIPT_LOADING_THREADS), Integer.class, 1));
+        ScriptLoadingExecutor localLoadingExecutor = loadingExecutor;
+        if (localLoadingExecutor != null) {
+            localLoadingExecutor.setCorePoolSize(threads);
+        }
+    }
+
+    /**
+     * Script files are loaded on this executor. Each file gets its own context from the shared engine, so with more
+     * than one thread, the files of a start level are loaded in parallel. The events of one file are still handled
+     * one after the other.
+     */
+    @Override
+    protected ScheduledExecutorService getScheduler() {
+        ScriptLoadingExecutor localLoadingExecutor = new ScriptLoadingExecutor(
+                new NamedThreadFactory("jsscripting-loader"));
+        loadingExecutor = localLoadingExecutor;
+        return localLoadingExecutor;
+    }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        runForFile(path.toString(), () -> super.processWatchEvent(kind, path));
+    }
+
+    @Override
+    public void onDependencyChange(String scriptIdentifier) {
+        runForFile(scriptIdentifier, () -> super.onDependencyChange(scriptIdentifier));
+    }
+
+    /**
+     * Runs the action such that the loading tasks it submits are serialized with the other tasks of the same file.
+     *
+     * @param file a path or identifier of the file, only its file name is used so both refer to the same file
+     */
+    private void runForFile(String file, Runnable action) {
+        ScriptLoadingExecutor localLoadingExecutor = loadingExecutor;
+        if (localLoadingExecutor == null) {
+            action.run();
+            return;
+        }
+        String fileName = file.substring(Math.max(file.lastIndexOf('/'), file.lastIndexOf('\\')) + 1);
+        localLoadingExecutor.runFor(fileName, action);
     }
 
     @Override
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.fs.watch;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Executor loading the script files, which runs the tasks of different script files in parallel, but the tasks of the
+ * same script file one after the other, so e.g. removing and importing a file again can not interleave.
+ * <p>
+ * The script file watcher does not tell the executor which file a task belongs to. Instead, the tasks submitted while
+ * {@link #runFor(String, Runnable)} handles an event of a file belong to that file, as do the tasks submitted by such a
+ * task. The tasks of a file hold one of {@link #LANES} locks while running, chosen by the hash of the file name, so
+ * each lock acts as a single-threaded lane. Tasks not belonging to a file, e.g. of the initial import of all files,
+ * run without a lock.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScriptLoadingExecutor extends ScheduledThreadPoolExecutor {
+    private static final int LANES = 64;
+
+    private final ThreadLocal<@Nullable String> currentFile = new ThreadLocal<>();
+    private final ReentrantLock[] lanes = new ReentrantLock[LANES];
+
+    ScriptLoadingExecutor(ThreadFactory threadFactory) {
+        super(1, threadFactory);
+        for (int i = 0; i < LANES; i++) {
+            // fair, so the tasks of a file run in the order they were started
+            lanes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Runs the action, all tasks it submits to this executor belong to the given file.
+     *
+     * @param file the file name, or another identifier that is equal for all events of the file
+     * @param action the action to run
+     */
+    void runFor(String file, Runnable action) {
+        String previousFile = currentFile.get();
+        currentFile.set(file);
+        try {
+            action.run();
+        } finally {
+            if (previousFile == null) {
+                currentFile.remove();
+            } else {
+                currentFile.set(previousFile);
+            }
+        }
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+        return decorate(task);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+        return decorate(task);
+    }
+
+    private <V> RunnableScheduledFuture<V> decorate(RunnableScheduledFuture<V> task) {
+        // called on the thread submitting the task
+        String file = currentFile.get();
+        return file == null ? task : new FileTask<>(file, task);
+    }
+
+    private class FileTask<V> implements RunnableScheduledFuture<V> {
+        private final String file;
+        private final RunnableScheduledFuture<V> task;
+
+        FileTask(String file, RunnableScheduledFuture<V> task) {
+            this.file = file;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            ReentrantLock lane = lanes[Math.floorMod(file.hashCode(), LANES)];
+            lane.lock();
+            try {
+                runFor(file, task);
+            } finally {
+                lane.unlock();
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return task.isPeriodic();
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            return task.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            return task.compareTo(other);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, @Nullable TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+}
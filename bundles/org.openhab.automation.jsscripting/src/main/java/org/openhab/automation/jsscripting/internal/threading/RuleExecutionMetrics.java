@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Collects how long executions of a rule waited for a free context and how long they ran.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RuleExecutionMetrics {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalLockWaitNanos = new LongAdder();
+    private final AtomicLong maxLockWaitNanos = new AtomicLong();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    void record(long lockWaitNanos, long executionNanos) {
+        executions.increment();
+        totalLockWaitNanos.add(lockWaitNanos);
+        maxLockWaitNanos.accumulateAndGet(lockWaitNanos, Math::max);
+        totalExecutionNanos.add(executionNanos);
+        maxExecutionNanos.accumulateAndGet(executionNanos, Math::max);
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getAverageLockWaitMillis() {
+        return average(totalLockWaitNanos.sum());
+    }
+
+    public long getMaxLockWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLockWaitNanos.get());
+    }
+
+    public long getAverageExecutionMillis() {
+        return average(totalExecutionNanos.sum());
+    }
+
+    public long getMaxExecutionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxExecutionNanos.get());
+    }
+
+    private long average(long totalNanos) {
+        long count = executions.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+    }
+
+    @Override
+    public String toString() {
+        return "executions=" + getExecutions() + ", lockWait(avg/max)=" + getAverageLockWaitMillis() + "/"
+                + getMaxLockWaitMillis() + " ms, execution(avg/max)=" + getAverageExecutionMillis() + "/"
+                + getMaxExecutionMillis() + " ms";
+    }
+}
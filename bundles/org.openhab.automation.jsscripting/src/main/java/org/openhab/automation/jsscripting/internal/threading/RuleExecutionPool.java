@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the rules registered by a script file.
+ * <p>
+ * For stateless script files, the script is evaluated once in its primary context and again in each additional context
+ * of the pool. Only the rules of the primary context are registered, the rules created by the additional contexts are
+ * attached to them in the order of their creation, so an execution can run in whichever context is free.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RuleExecutionPool {
+
+    private final Logger logger = LoggerFactory.getLogger(RuleExecutionPool.class);
+
+    private final Lock primaryLock;
+    private final List<ThreadsafeSimpleRuleDelegate> rules = new CopyOnWriteArrayList<>();
+    private final Map<Lock, Integer> replicaRuleCount = new ConcurrentHashMap<>();
+
+    /**
+     * @param primaryLock the lock of the context whose rules are registered
+     */
+    public RuleExecutionPool(Lock primaryLock) {
+        this.primaryLock = primaryLock;
+    }
+
+    /**
+     * Wraps a rule created by the context with the given lock.
+     *
+     * @return the rule to register, or null if the rule was attached to a rule of the primary context instead
+     */
+    @Nullable
+    ThreadsafeSimpleRuleDelegate wrap(Lock lock, SimpleRule rule) {
+        if (lock == primaryLock) {
+            ThreadsafeSimpleRuleDelegate threadsafeRule = new ThreadsafeSimpleRuleDelegate(lock, rule);
+            rules.add(threadsafeRule);
+            return threadsafeRule;
+        }
+        int index = replicaRuleCount.merge(lock, 1, Integer::sum) - 1;
+        if (index < rules.size()) {
+            rules.get(index).addReplica(lock, rule);
+        } else {
+            logger.warn("Script created more rules in an additional context than in its primary context, "
+                    + "it is probably not stateless. Rule '{}' will only run in its primary context.", rule.getName());
+        }
+        return null;
+    }
+
+    /**
+     * @return the execution metrics of all rules, by rule UID
+     */
+    public Map<String, RuleExecutionMetrics> getMetrics() {
+        Map<String, RuleExecutionMetrics> metrics = new LinkedHashMap<>();
+        for (ThreadsafeSimpleRuleDelegate rule : rules) {
+            metrics.put(rule.getUID(), rule.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Logs the execution metrics of all rules.
+     */
+    public void logMetrics() {
+        if (logger.isDebugEnabled()) {
+            for (ThreadsafeSimpleRuleDelegate rule : rules) {
+                logger.debug("Rule '{}': {}", rule.getUID(), rule.getMetrics());
+            }
+        }
+    }
+}
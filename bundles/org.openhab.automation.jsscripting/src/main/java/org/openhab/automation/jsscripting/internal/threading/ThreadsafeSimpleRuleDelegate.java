@@ -15,6 +15,7 @@ package org.openhab.automation.jsscripting.internal.threading;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -29,18 +30,28 @@ import org.openhab.core.automation.module.script.rulesupport.shared.simple.Simpl
 import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRuleActionHandler;
 import org.openhab.core.config.core.ConfigDescriptionParameter;
 import org.openhab.core.config.core.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A version of {@link SimpleRule} which controls multithreaded execution access to this specific rule. This is useful
  * for rules which wrap GraalJS Contexts, which are not multithreaded.
+ * <p>
+ * Rules of stateless scripts can have replicas in further contexts, an execution then runs in the first context that
+ * is not busy and only waits if all of them are.
  *
  * @author Jonathan Gilbert - Initial contribution
+ * @author agent - Run in a free context of a stateless script; Execution metrics
  */
 @NonNullByDefault
 class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
 
+    private final Logger logger = LoggerFactory.getLogger(ThreadsafeSimpleRuleDelegate.class);
+
     private final Lock lock;
     private final SimpleRule delegate;
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+    private final RuleExecutionMetrics metrics = new RuleExecutionMetrics();
 
     /**
      * Constructor requires a lock object and delegate to forward invocations to.
@@ -56,12 +67,45 @@ class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
     @Override
     @NonNullByDefault({})
     public Object execute(Action module, Map<String, ?> inputs) {
-        lock.lock();
+        long start = System.nanoTime();
+        Lock acquiredLock = lock;
+        SimpleRule target = delegate;
+        if (replicas.isEmpty() || !lock.tryLock()) {
+            Replica replica = replicas.isEmpty() ? null : acquireReplica();
+            if (replica != null) {
+                acquiredLock = replica.lock();
+                target = replica.rule();
+            } else {
+                lock.lock();
+            }
+        }
+        long acquired = System.nanoTime();
         try {
-            return delegate.execute(module, inputs);
+            return target.execute(module, inputs);
         } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid deadlocks
-            lock.unlock();
+            long finished = System.nanoTime();
+            acquiredLock.unlock();
+            metrics.record(acquired - start, finished - acquired);
+            logger.trace("Rule '{}' waited {} µs for its context and ran for {} µs", getUID(),
+                    (acquired - start) / 1000, (finished - acquired) / 1000);
+        }
+    }
+
+    private @Nullable Replica acquireReplica() {
+        for (Replica replica : replicas) {
+            if (replica.lock().tryLock()) {
+                return replica;
+            }
         }
+        return null;
+    }
+
+    void addReplica(Lock replicaLock, SimpleRule replicaRule) {
+        replicas.add(new Replica(replicaLock, replicaRule));
+    }
+
+    public RuleExecutionMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
@@ -186,4 +230,7 @@ class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
     public Module getModule(String moduleId) {
         return delegate.getModule(moduleId);
     }
+
+    private record Replica(Lock lock, SimpleRule rule) {
+    }
 }
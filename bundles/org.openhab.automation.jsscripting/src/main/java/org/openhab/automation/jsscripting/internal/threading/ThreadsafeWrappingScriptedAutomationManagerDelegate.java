@@ -35,16 +35,20 @@ import org.openhab.core.automation.type.TriggerType;
  * @author Jonathan Gilbert - Initial contribution
  * @author Florian Hotze - Pass in lock object for multi-thread synchronization; Switch to {@link Lock} for multi-thread
  *         synchronization
+ * @author agent - Register rules through the {@link RuleExecutionPool} of the script
  */
 @NonNullByDefault
 public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
 
     private ScriptedAutomationManager delegate;
     private final Lock lock;
+    private final RuleExecutionPool ruleExecutionPool;
 
-    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock) {
+    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock,
+            RuleExecutionPool ruleExecutionPool) {
         this.delegate = delegate;
         this.lock = lock;
+        this.ruleExecutionPool = ruleExecutionPool;
     }
 
     public void removeModuleType(String UID) {
@@ -66,7 +70,12 @@ public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
     public Rule addRule(Rule element) {
         // wrap in a threadsafe version, safe per context
         if (element instanceof SimpleRule rule) {
-            element = new ThreadsafeSimpleRuleDelegate(lock, rule);
+            ThreadsafeSimpleRuleDelegate threadsafeRule = ruleExecutionPool.wrap(lock, rule);
+            if (threadsafeRule == null) {
+                // created by an additional context of a stateless script, it runs as part of the primary context's rule
+                return element;
+            }
+            element = threadsafeRule;
         }
 
         return delegate.addRule(element);
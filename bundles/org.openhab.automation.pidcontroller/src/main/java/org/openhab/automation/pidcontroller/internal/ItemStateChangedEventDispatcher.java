@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single event subscriber for all PID controllers. It passes item state changes only to the controllers that
+ * registered for the item, instead of every controller receiving and filtering all events of the system.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { EventSubscriber.class, ItemStateChangedEventDispatcher.class })
+@NonNullByDefault
+public class ItemStateChangedEventDispatcher implements EventSubscriber {
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateChangedEvent.TYPE);
+    private final Logger logger = LoggerFactory.getLogger(ItemStateChangedEventDispatcher.class);
+    private final Map<String, Set<Consumer<ItemStateChangedEvent>>> listenersByItemName = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a listener for the state changes of an item.
+     *
+     * @param itemName the name of the item
+     * @param listener the listener, unregister it with the same instance
+     */
+    public void addListener(String itemName, Consumer<ItemStateChangedEvent> listener) {
+        listenersByItemName.compute(itemName, (name, listeners) -> {
+            Set<Consumer<ItemStateChangedEvent>> newListeners = listeners != null ? listeners
+                    : ConcurrentHashMap.newKeySet();
+            newListeners.add(listener);
+            return newListeners;
+        });
+    }
+
+    public void removeListener(String itemName, Consumer<ItemStateChangedEvent> listener) {
+        listenersByItemName.computeIfPresent(itemName, (name, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent changedEvent) {
+            Set<Consumer<ItemStateChangedEvent>> listeners = listenersByItemName.get(changedEvent.getItemName());
+            if (listeners == null) {
+                return;
+            }
+            for (Consumer<ItemStateChangedEvent> listener : listeners) {
+                try {
+                    listener.accept(changedEvent);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to process state change of item '{}': {}", changedEvent.getItemName(),
+                            e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
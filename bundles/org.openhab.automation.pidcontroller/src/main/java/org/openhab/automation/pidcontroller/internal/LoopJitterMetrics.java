@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Tracks how much later than planned the loops of a PID controller start. The next loop is planned one loop time
+ * after the previous loop has finished.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LoopJitterMetrics {
+    private final long loopTimeNanos;
+    private long previousLoopEndNanos = -1;
+    private long loops;
+    private long totalLatenessNanos;
+    private long maxLatenessNanos;
+
+    public LoopJitterMetrics(long loopTimeMs) {
+        this.loopTimeNanos = loopTimeMs * 1_000_000;
+    }
+
+    /**
+     * Records the start of a loop.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return how many nanoseconds later than planned the loop started, 0 for the first loop
+     */
+    public synchronized long loopStarted(long nowNanos) {
+        if (previousLoopEndNanos < 0) {
+            return 0;
+        }
+        long latenessNanos = Math.max(0, nowNanos - previousLoopEndNanos - loopTimeNanos);
+        loops++;
+        totalLatenessNanos += latenessNanos;
+        maxLatenessNanos = Math.max(maxLatenessNanos, latenessNanos);
+        return latenessNanos;
+    }
+
+    /**
+     * Records the end of a loop.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public synchronized void loopFinished(long nowNanos) {
+        previousLoopEndNanos = nowNanos;
+    }
+
+    public synchronized long getLoops() {
+        return loops;
+    }
+
+    public synchronized double getAverageLatenessMs() {
+        return loops == 0 ? 0 : totalLatenessNanos / (loops * 1_000_000.0);
+    }
+
+    public synchronized double getMaxLatenessMs() {
+        return maxLatenessNanos / 1_000_000.0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("loops=%d, lateness avg=%.1f ms, max=%.1f ms", loops, getAverageLatenessMs(),
+                getMaxLatenessMs());
+    }
+}
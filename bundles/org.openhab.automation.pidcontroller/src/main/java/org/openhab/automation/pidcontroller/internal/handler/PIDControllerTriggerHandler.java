@@ -17,34 +17,31 @@ import static org.openhab.automation.pidcontroller.internal.PIDControllerConstan
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pidcontroller.internal.ItemStateChangedEventDispatcher;
+import org.openhab.automation.pidcontroller.internal.LoopJitterMetrics;
 import org.openhab.automation.pidcontroller.internal.PIDException;
 import org.openhab.core.automation.ModuleHandlerCallback;
 import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
 import org.openhab.core.config.core.Configuration;
-import org.openhab.core.events.Event;
-import org.openhab.core.events.EventFilter;
 import org.openhab.core.events.EventPublisher;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemEventFactory;
 import org.openhab.core.items.events.ItemStateChangedEvent;
-import org.openhab.core.items.events.ItemStateEvent;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,20 +49,22 @@ import org.slf4j.LoggerFactory;
  *
  * @author Hilbrand Bouwkamp - Initial Contribution
  * @author Fabian Wolter - Add PID debug output values
+ * @author agent - Receive events through a shared dispatcher; Loop jitter metrics
  */
 @NonNullByDefault
-public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PIDControllerTriggerHandler.class);
-    private final ServiceRegistration<?> eventSubscriberRegistration;
+    private final ItemStateChangedEventDispatcher eventDispatcher;
+    private final Consumer<ItemStateChangedEvent> eventListener = this::receive;
     private final PIDController controller;
     private final int loopTimeMs;
+    private final LoopJitterMetrics loopJitterMetrics;
     private long previousTimeMs = System.currentTimeMillis();
+    private @Nullable ScheduledFuture<?> loopJob;
     private Item inputItem;
     private Item setpointItem;
-    private Optional<String> commandTopic;
-    private EventFilter eventFilter;
+    private Optional<String> commandItemName;
     private EventPublisher eventPublisher;
     private @Nullable String pInspector;
     private @Nullable String iInspector;
@@ -74,10 +73,11 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
     private ItemRegistry itemRegistry;
 
     public PIDControllerTriggerHandler(Trigger module, ItemRegistry itemRegistry, EventPublisher eventPublisher,
-            BundleContext bundleContext) {
+            ItemStateChangedEventDispatcher eventDispatcher) {
         super(module);
         this.itemRegistry = itemRegistry;
         this.eventPublisher = eventPublisher;
+        this.eventDispatcher = eventDispatcher;
 
         Configuration config = module.getConfiguration();
 
@@ -96,12 +96,7 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
             throw new IllegalArgumentException("Configured setpoint item not found: " + setpointItemName, e);
         }
 
-        String commandItemName = (String) config.get(CONFIG_COMMAND_ITEM);
-        if (commandItemName != null) {
-            commandTopic = Optional.of("openhab/items/" + commandItemName + "/statechanged");
-        } else {
-            commandTopic = Optional.empty();
-        }
+        commandItemName = Optional.ofNullable((String) config.get(CONFIG_COMMAND_ITEM));
 
         double kpAdjuster = getDoubleFromConfig(config, CONFIG_KP_GAIN);
         double kiAdjuster = getDoubleFromConfig(config, CONFIG_KI_GAIN);
@@ -116,6 +111,7 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
 
         loopTimeMs = ((BigDecimal) requireNonNull(config.get(CONFIG_LOOP_TIME), CONFIG_LOOP_TIME + " is not set"))
                 .intValue();
+        loopJitterMetrics = new LoopJitterMetrics(loopTimeMs);
 
         double previousIntegralPart = getItemNameValueAsNumberOrZero(itemRegistry, iInspector);
         double previousDerivativePart = getItemNameValueAsNumberOrZero(itemRegistry, dInspector);
@@ -124,16 +120,9 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         controller = new PIDController(kpAdjuster, kiAdjuster, kdAdjuster, kdTimeConstant, iMinValue, iMaxValue,
                 previousIntegralPart, previousDerivativePart, previousError);
 
-        eventFilter = event -> {
-            String topic = event.getTopic();
-
-            return ("openhab/items/" + inputItemName + "/state").equals(topic)
-                    || ("openhab/items/" + inputItemName + "/statechanged").equals(topic)
-                    || ("openhab/items/" + setpointItemName + "/statechanged").equals(topic)
-                    || commandTopic.map(t -> topic.equals(t)).orElse(false);
-        };
-
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+        eventDispatcher.addListener(inputItemName, eventListener);
+        eventDispatcher.addListener(setpointItemName, eventListener);
+        commandItemName.ifPresent(name -> eventDispatcher.addListener(name, eventListener));
 
         eventPublisher.post(ItemEventFactory.createCommandEvent(inputItemName, RefreshType.REFRESH));
     }
@@ -141,7 +130,24 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
     @Override
     public void setCallback(ModuleHandlerCallback callback) {
         super.setCallback(callback);
-        getCallback().getScheduler().scheduleWithFixedDelay(this::calculate, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        loopJob = getCallback().getScheduler().scheduleWithFixedDelay(this::loop, 0, loopTimeMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void loop() {
+        long latenessNanos = loopJitterMetrics.loopStarted(System.nanoTime());
+        try {
+            if (latenessNanos >= loopTimeMs * 1_000_000L) {
+                logger.debug("Loop of PID controller for input item '{}' started {} ms late ({})", inputItem.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(latenessNanos), loopJitterMetrics);
+            } else if (logger.isTraceEnabled()) {
+                logger.trace("Loop of PID controller for input item '{}' started {} µs late", inputItem.getName(),
+                        TimeUnit.NANOSECONDS.toMicros(latenessNanos));
+            }
+            calculate();
+        } finally {
+            loopJitterMetrics.loopFinished(System.nanoTime());
+        }
     }
 
     private <T> T requireNonNull(T obj, String message) {
@@ -252,36 +258,31 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         throw new PIDException("Not a number: " + setpointState.getClass().getSimpleName() + ": " + setpointState);
     }
 
-    @Override
-    public void receive(Event event) {
-        if (event instanceof ItemStateChangedEvent changedEvent) {
-            if (commandTopic.isPresent() && event.getTopic().equals(commandTopic.get())) {
-                if ("RESET".equals(changedEvent.getItemState().toString())) {
-                    controller.setIntegralResult(0);
-                    controller.setDerivativeResult(0);
-                    eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
-                } else if (changedEvent.getItemState() != UnDefType.NULL) {
-                    logger.warn("Unknown command: {}", changedEvent.getItemState());
-                }
-            } else {
-                calculate();
+    private void receive(ItemStateChangedEvent changedEvent) {
+        if (commandItemName.isPresent() && changedEvent.getItemName().equals(commandItemName.get())) {
+            if ("RESET".equals(changedEvent.getItemState().toString())) {
+                controller.setIntegralResult(0);
+                controller.setDerivativeResult(0);
+                eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
+            } else if (changedEvent.getItemState() != UnDefType.NULL) {
+                logger.warn("Unknown command: {}", changedEvent.getItemState());
             }
+        } else {
+            calculate();
         }
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
-    }
-
-    @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
-    }
-
     @Override
     public void dispose() {
-        eventSubscriberRegistration.unregister();
+        eventDispatcher.removeListener(inputItem.getName(), eventListener);
+        eventDispatcher.removeListener(setpointItem.getName(), eventListener);
+        commandItemName.ifPresent(name -> eventDispatcher.removeListener(name, eventListener));
+
+        ScheduledFuture<?> localLoopJob = loopJob;
+        if (localLoopJob != null) {
+            localLoopJob.cancel(false);
+        }
+        logger.debug("PID controller for input item '{}' stopped: {}", inputItem.getName(), loopJitterMetrics);
 
         super.dispose();
     }
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * Test for ItemStateChangedEventDispatcher.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class ItemStateChangedEventDispatcherTest {
+    private final ItemStateChangedEventDispatcher dispatcher = new ItemStateChangedEventDispatcher();
+    private final List<String> received = new ArrayList<>();
+    private final Consumer<ItemStateChangedEvent> listener = event -> received.add(event.getItemName());
+
+    private void sendStateChange(String itemName) {
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent(itemName, new DecimalType(1), new DecimalType(0)));
+    }
+
+    @Test
+    void testOnlyRegisteredItemsAreDispatched() {
+        dispatcher.addListener("input", listener);
+        dispatcher.addListener("setpoint", listener);
+
+        sendStateChange("input");
+        sendStateChange("other");
+        sendStateChange("setpoint");
+
+        assertEquals(List.of("input", "setpoint"), received);
+    }
+
+    @Test
+    void testRemovedListenerIsNotCalled() {
+        dispatcher.addListener("input", listener);
+        dispatcher.removeListener("input", listener);
+
+        sendStateChange("input");
+
+        assertEquals(List.of(), received);
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopOtherListeners() {
+        dispatcher.addListener("input", event -> {
+            throw new IllegalStateException("test");
+        });
+        dispatcher.addListener("input", listener);
+
+        sendStateChange("input");
+
+        assertEquals(List.of("input"), received);
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for LoopJitterMetrics.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class LoopJitterMetricsTest {
+    @Test
+    void testLatenessOfLoops() {
+        LoopJitterMetrics metrics = new LoopJitterMetrics(1000);
+        long ms = 1_000_000;
+
+        assertEquals(0, metrics.loopStarted(0));
+        metrics.loopFinished(10 * ms);
+        assertEquals(0, metrics.loopStarted(1010 * ms));
+        metrics.loopFinished(1020 * ms);
+        assertEquals(30 * ms, metrics.loopStarted(2050 * ms));
+
+        assertEquals(2, metrics.getLoops());
+        assertEquals(15, metrics.getAverageLatenessMs(), 0.001);
+        assertEquals(30, metrics.getMaxLatenessMs(), 0.001);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pwm.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single event subscriber for all PWM triggers. It passes item state updates only to the triggers that
+ * registered for the item, instead of every trigger receiving and filtering all events of the system.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { EventSubscriber.class, ItemStateEventDispatcher.class })
+@NonNullByDefault
+public class ItemStateEventDispatcher implements EventSubscriber {
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE);
+    private final Logger logger = LoggerFactory.getLogger(ItemStateEventDispatcher.class);
+    private final Map<String, Set<Consumer<ItemStateEvent>>> listenersByItemName = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a listener for the state updates of an item.
+     *
+     * @param itemName the name of the item
+     * @param listener the listener, unregister it with the same instance
+     */
+    public void addListener(String itemName, Consumer<ItemStateEvent> listener) {
+        listenersByItemName.compute(itemName, (name, listeners) -> {
+            Set<Consumer<ItemStateEvent>> newListeners = listeners != null ? listeners
+                    : ConcurrentHashMap.newKeySet();
+            newListeners.add(listener);
+            return newListeners;
+        });
+    }
+
+    public void removeListener(String itemName, Consumer<ItemStateEvent> listener) {
+        listenersByItemName.computeIfPresent(itemName, (name, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateEvent stateEvent) {
+            Set<Consumer<ItemStateEvent>> listeners = listenersByItemName.get(stateEvent.getItemName());
+            if (listeners == null) {
+                return;
+            }
+            for (Consumer<ItemStateEvent> listener : listeners) {
+                try {
+                    listener.accept(stateEvent);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to process state update of item '{}': {}", stateEvent.getItemName(),
+                            e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
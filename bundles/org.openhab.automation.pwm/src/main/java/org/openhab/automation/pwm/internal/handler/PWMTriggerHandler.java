@@ -18,12 +18,13 @@ import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pwm.internal.ItemStateEventDispatcher;
 import org.openhab.automation.pwm.internal.PWMException;
 import org.openhab.automation.pwm.internal.handler.state.StateMachine;
 import org.openhab.core.automation.ModuleHandlerCallback;
@@ -31,9 +32,6 @@ import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
 import org.openhab.core.config.core.Configuration;
-import org.openhab.core.events.Event;
-import org.openhab.core.events.EventFilter;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -43,8 +41,6 @@ import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,28 +48,28 @@ import org.slf4j.LoggerFactory;
  * Represents a Trigger module in the rules engine.
  *
  * @author Fabian Wolter - Initial Contribution
+ * @author agent - Receive the duty cycle through the bundle's event dispatcher
  */
 @NonNullByDefault
-public class PWMTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PWMTriggerHandler extends BaseTriggerModuleHandler {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PWMTriggerHandler.class);
-    private final BundleContext bundleContext;
-    private final EventFilter eventFilter;
+    private final ItemStateEventDispatcher eventDispatcher;
+    private final Consumer<ItemStateEvent> eventListener = this::receive;
     private final Optional<Double> minDutyCycle;
     private final Optional<Double> maxDutyCycle;
     private final boolean isEquateMinToZero;
     private final boolean isEquateMaxToHundred;
     private final Optional<Double> deadManSwitchTimeoutMs;
     private final Item dutyCycleItem;
-    private @Nullable ServiceRegistration<?> eventSubscriberRegistration;
     private @Nullable ScheduledFuture<?> deadMeanSwitchTimer;
     private @Nullable StateMachine stateMachine;
     private String ruleUID;
 
-    public PWMTriggerHandler(Trigger module, ItemRegistry itemRegistry, BundleContext bundleContext, String ruleUID) {
+    public PWMTriggerHandler(Trigger module, ItemRegistry itemRegistry, ItemStateEventDispatcher eventDispatcher,
+            String ruleUID) {
         super(module);
-        this.bundleContext = bundleContext;
+        this.eventDispatcher = eventDispatcher;
         this.ruleUID = ruleUID;
 
         Configuration config = module.getConfiguration();
@@ -92,8 +88,6 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         } catch (ItemNotFoundException e) {
             throw new IllegalArgumentException("Dutycycle item not found: " + dutycycleItemName, e);
         }
-
-        eventFilter = event -> event.getTopic().equals("openhab/items/" + dutycycleItemName + "/state");
     }
 
     @Override
@@ -104,7 +98,7 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         stateMachine = new StateMachine(getCallback().getScheduler(), this::setOutput, (long) (periodSec * 1000),
                 ruleUID);
 
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+        eventDispatcher.addListener(dutyCycleItem.getName(), eventListener);
     }
 
     private double getDoubleFromConfig(Configuration config, String key) {
@@ -126,13 +120,7 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         return ((Boolean) config.get(key)).booleanValue();
     }
 
-    @Override
-    public void receive(Event event) {
-        if (!(event instanceof ItemStateEvent)) {
-            return;
-        }
-
-        ItemStateEvent changedEvent = (ItemStateEvent) event;
+    private void receive(ItemStateEvent changedEvent) {
         synchronized (this) {
             try {
                 double newDutycycle = getDutyCycleValueInPercent(changedEvent.getItemState());
@@ -230,22 +218,9 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
                 ruleUID + ": Duty cycle item not of type DecimalType: " + state.getClass().getSimpleName());
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
-    }
-
-    @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
-    }
-
     @Override
     public void dispose() {
-        ServiceRegistration<?> localEventSubscriberRegistration = eventSubscriberRegistration;
-        if (localEventSubscriberRegistration != null) {
-            localEventSubscriberRegistration.unregister();
-        }
+        eventDispatcher.removeListener(dutyCycleItem.getName(), eventListener);
 
         super.dispose();
     }
@@ -77,10 +77,18 @@ public class IpCameraBindingConstants {
     public static final Set<ThingTypeUID> GROUP_SUPPORTED_THING_TYPES = new HashSet<ThingTypeUID>(
             Arrays.asList(THING_TYPE_GROUP));
 
+    // List of all Binding Config items
+    public static final String CONFIG_EVENT_LOOP_THREADS = "eventLoopThreads";
+    public static final String CONFIG_SCHEDULER_THREADS = "schedulerThreads";
+
     // List of all Thing Config items
     public static final String CONFIG_IPADDRESS = "ipAddress";
     public static final String CONFIG_ONVIF_PORT = "onvifPort";
 
+    // List of all Thing properties
+    public static final String PROPERTY_OPEN_CONNECTIONS = "openConnections";
+    public static final String PROPERTY_NETWORK_THREADS = "networkThreads";
+
     // List of all Channel ids
     public static final String CHANNEL_POLL_IMAGE = "pollImage";
     public static final String CHANNEL_RECORDING_GIF = "recordingGif";
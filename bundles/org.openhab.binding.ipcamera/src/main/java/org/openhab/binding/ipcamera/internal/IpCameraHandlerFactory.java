@@ -14,10 +14,13 @@ package org.openhab.binding.ipcamera.internal;
 
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraGroupHandler;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.net.NetworkAddressService;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -26,6 +29,7 @@ import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 
@@ -42,14 +46,26 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
     private final GroupTracker groupTracker = new GroupTracker();
     private final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
     private final HttpService httpService;
+    private final SharedThreadPools sharedThreadPools;
 
     @Activate
     public IpCameraHandlerFactory(final @Reference NetworkAddressService networkAddressService,
             final @Reference IpCameraDynamicStateDescriptionProvider stateDescriptionProvider,
-            final @Reference HttpService httpService) {
+            final @Reference HttpService httpService, Map<String, Object> config) {
         openhabIpAddress = networkAddressService.getPrimaryIpv4HostAddress();
         this.stateDescriptionProvider = stateDescriptionProvider;
         this.httpService = httpService;
+        int eventLoopThreads = ConfigParser.valueAsOrElse(config.get(CONFIG_EVENT_LOOP_THREADS), Integer.class,
+                SharedThreadPools.DEFAULT_EVENT_LOOP_THREADS);
+        int schedulerThreads = ConfigParser.valueAsOrElse(config.get(CONFIG_SCHEDULER_THREADS), Integer.class,
+                SharedThreadPools.DEFAULT_SCHEDULER_THREADS);
+        sharedThreadPools = new SharedThreadPools(eventLoopThreads, schedulerThreads);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        // all handlers have been disposed before
+        sharedThreadPools.shutdown();
     }
 
     @Override
@@ -62,7 +78,8 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            return new IpCameraHandler(thing, openhabIpAddress, groupTracker, stateDescriptionProvider, httpService);
+            return new IpCameraHandler(thing, openhabIpAddress, groupTracker, stateDescriptionProvider, httpService,
+                    sharedThreadPools);
         } else if (GROUP_SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
             return new IpCameraGroupHandler(thing, openhabIpAddress, groupTracker, httpService);
         }
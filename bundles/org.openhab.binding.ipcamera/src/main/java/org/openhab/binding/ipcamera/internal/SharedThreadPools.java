@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+/**
+ * The {@link SharedThreadPools} holds the Netty event loop group and the scheduler that are shared by all cameras, so
+ * the number of threads does not grow with the number of cameras. Each camera still uses its own bootstrap and
+ * channels.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedThreadPools {
+    public static final int DEFAULT_EVENT_LOOP_THREADS = 4;
+    public static final int DEFAULT_SCHEDULER_THREADS = 4;
+
+    private final int eventLoopThreads;
+    private final int schedulerThreads;
+    private final EventLoopGroup eventLoopGroup;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public SharedThreadPools(int eventLoopThreads, int schedulerThreads) {
+        this.eventLoopThreads = Math.max(1, eventLoopThreads);
+        this.schedulerThreads = Math.max(1, schedulerThreads);
+        eventLoopGroup = new NioEventLoopGroup(this.eventLoopThreads, new NamedThreadFactory("ipcamera-netty"));
+        scheduler = new ScheduledThreadPoolExecutor(this.schedulerThreads, new NamedThreadFactory("ipcamera"));
+        // the jobs of a camera are cancelled when it goes offline, don't keep them in the queue until they are due
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    public int getSchedulerThreads() {
+        return schedulerThreads;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        eventLoopGroup.shutdownGracefully();
+    }
+}
@@ -33,7 +33,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -59,6 +58,7 @@ import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegForm
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.ReolinkHandler;
+import org.openhab.binding.ipcamera.internal.SharedThreadPools;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.binding.ipcamera.internal.servlet.CameraServlet;
 import org.openhab.core.OpenHAB;
@@ -96,7 +96,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.base64.Base64;
@@ -128,7 +127,9 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 public class IpCameraHandler extends BaseThingHandler {
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
-    private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2);
+    private final SharedThreadPools sharedThreadPools;
+    // shared by all cameras, see SharedThreadPools
+    private final ScheduledExecutorService threadPool;
     private GroupTracker groupTracker;
     public CameraConfig cameraConfig = new CameraConfig();
 
@@ -152,7 +153,12 @@ public class IpCameraHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> snapshotJob = null;
     private @Nullable ScheduledFuture<?> authenticationJob = null;
     private @Nullable Bootstrap mainBootstrap;
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup(1);
+    private final EventLoopGroup mainEventLoopGroup;
+    private volatile boolean disposed = false;
+    // jobs are scheduled and cancelled under this lock, so a running job can not schedule another one after dispose()
+    private final Object jobLock = new Object();
+    private int lastOpenConnections = -1;
+    private int lastEventLoopThreads = -1;
     private FullHttpRequest putRequestWithBody = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "");
     private FullHttpRequest postRequestWithBody = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "");
     private String gifFilename = "ipcamera";
@@ -392,8 +398,12 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker,
-            IpCameraDynamicStateDescriptionProvider stateDescriptionProvider, HttpService httpService) {
+            IpCameraDynamicStateDescriptionProvider stateDescriptionProvider, HttpService httpService,
+            SharedThreadPools sharedThreadPools) {
         super(thing);
+        this.sharedThreadPools = sharedThreadPools;
+        this.threadPool = sharedThreadPools.getScheduler();
+        this.mainEventLoopGroup = sharedThreadPools.getEventLoopGroup();
         this.stateDescriptionProvider = stateDescriptionProvider;
         if (ipAddress != null) {
             hostIp = ipAddress;
@@ -716,7 +726,22 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         closeChannel(getTinyUrl(mjpegUri));
         // Dahua cameras crash if you refresh (close and open) the stream without this delay.
-        mainEventLoopGroup.schedule(this::openMjpegStream, 300, TimeUnit.MILLISECONDS);
+        scheduleOnEventLoop(this::openMjpegStream, 300);
+    }
+
+    /**
+     * Run a task of this camera on the shared event loop, unless the camera has been disposed in the meantime.
+     */
+    private void scheduleOnEventLoop(Runnable task, long delayMs) {
+        mainEventLoopGroup.schedule(() -> {
+            if (!disposed) {
+                task.run();
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    public SharedThreadPools getSharedThreadPools() {
+        return sharedThreadPools;
     }
 
     private void openMjpegStream() {
@@ -1236,7 +1261,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             return;
                         }
                         onvifCamera.setAbsolutePan(Float.valueOf(command.toString()));
-                        mainEventLoopGroup.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
+                        scheduleOnEventLoop(this::sendPTZRequest, 500);
                     }
                     return;
                 case CHANNEL_TILT:
@@ -1261,7 +1286,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             return;
                         }
                         onvifCamera.setAbsoluteTilt(Float.valueOf(command.toString()));
-                        mainEventLoopGroup.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
+                        scheduleOnEventLoop(this::sendPTZRequest, 500);
                     }
                     return;
                 case CHANNEL_ZOOM:
@@ -1286,7 +1311,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             return;
                         }
                         onvifCamera.setAbsoluteZoom(Float.valueOf(command.toString()));
-                        mainEventLoopGroup.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
+                        scheduleOnEventLoop(this::sendPTZRequest, 500);
                     }
                     return;
             }
@@ -1364,12 +1389,21 @@ public class IpCameraHandler extends BaseThingHandler {
         if (!snapshotUri.isEmpty()) {
             if (cameraConfig.getGifPreroll() > 0 || cameraConfig.getUpdateImageWhen().contains("1")) {
                 snapshotPolling = true;
-                snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 1000,
-                        cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
+                synchronized (jobLock) {
+                    if (!disposed) {
+                        snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 1000,
+                                cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
+                    }
+                }
             }
         }
 
-        pollCameraJob = threadPool.scheduleWithFixedDelay(this::pollCameraRunnable, 1000, 8000, TimeUnit.MILLISECONDS);
+        synchronized (jobLock) {
+            if (!disposed) {
+                pollCameraJob = threadPool.scheduleWithFixedDelay(this::pollCameraRunnable, 1000, 8000,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
 
         // auto restart mjpeg stream now camera is back online.
         CameraServlet localServlet = servlet;
@@ -1487,7 +1521,7 @@ public class IpCameraHandler extends BaseThingHandler {
 
     private void updateSnapshot() {
         lastSnapshotRequest = Instant.now();
-        mainEventLoopGroup.schedule(this::takeSnapshot, 0, TimeUnit.MILLISECONDS);
+        scheduleOnEventLoop(this::takeSnapshot, 0);
     }
 
     public byte[] getSnapshot() {
@@ -1540,8 +1574,12 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")) {
             snapshotPolling = true;
-            snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 0, cameraConfig.getPollTime(),
-                    TimeUnit.MILLISECONDS);
+            synchronized (jobLock) {
+                if (!disposed) {
+                    snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 0,
+                            cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
+                }
+            }
         }
     }
 
@@ -1654,13 +1692,28 @@ public class IpCameraHandler extends BaseThingHandler {
             logger.debug("There are {} open Channels being tracked.", openChannels.size());
             cleanChannels();
         }
+        updateThreadAndConnectionCounts();
+    }
+
+    private void updateThreadAndConnectionCounts() {
+        int openConnections = openChannels.size();
+        // each channel is served by one thread of the shared event loop group
+        int eventLoopThreads = (int) openChannels.stream().map(Channel::eventLoop).distinct().count();
+        if (openConnections != lastOpenConnections || eventLoopThreads != lastEventLoopThreads) {
+            lastOpenConnections = openConnections;
+            lastEventLoopThreads = eventLoopThreads;
+            updateProperty(PROPERTY_OPEN_CONNECTIONS, String.valueOf(openConnections));
+            updateProperty(PROPERTY_NETWORK_THREADS,
+                    eventLoopThreads + " of " + sharedThreadPools.getEventLoopThreads());
+            logger.debug("Camera has {} open connections served by {} of {} shared network threads.",
+                    openConnections, eventLoopThreads, sharedThreadPools.getEventLoopThreads());
+        }
     }
 
     @Override
     public void initialize() {
+        disposed = false;
         cameraConfig = getConfigAs(CameraConfig.class);
-        threadPool = Executors.newScheduledThreadPool(2);
-        mainEventLoopGroup = new NioEventLoopGroup(3);
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
@@ -1734,8 +1787,12 @@ public class IpCameraHandler extends BaseThingHandler {
                 break;
             case REOLINK_THING:
                 if (cameraConfig.useToken) {
-                    authenticationJob = threadPool.scheduleWithFixedDelay(this::getReolinkToken, 0, 45,
-                            TimeUnit.MINUTES);
+                    synchronized (jobLock) {
+                        if (!disposed) {
+                            authenticationJob = threadPool.scheduleWithFixedDelay(this::getReolinkToken, 0, 45,
+                                    TimeUnit.MINUTES);
+                        }
+                    }
                 } else {
                     reolinkAuth = "&user=" + cameraConfig.getUser() + "&password=" + cameraConfig.getPassword();
                 }
@@ -1786,8 +1843,12 @@ public class IpCameraHandler extends BaseThingHandler {
                 normalDelay = 30;
             }
         }
-        cameraConnectionJob = threadPool.scheduleWithFixedDelay(this::pollingCameraConnection, firstDelay, normalDelay,
-                TimeUnit.SECONDS);
+        synchronized (jobLock) {
+            if (!disposed) {
+                cameraConnectionJob = threadPool.scheduleWithFixedDelay(this::pollingCameraConnection, firstDelay,
+                        normalDelay, TimeUnit.SECONDS);
+            }
+        }
     }
 
     private boolean supportsOnvifEvents() {
@@ -1821,25 +1882,27 @@ public class IpCameraHandler extends BaseThingHandler {
     private void offline() {
         isOnline = false;
         snapshotPolling = false;
-        Future<?> localFuture = pollCameraJob;
-        if (localFuture != null) {
-            localFuture.cancel(true);
-            pollCameraJob = null;
-        }
-        localFuture = authenticationJob;
-        if (localFuture != null) {
-            localFuture.cancel(true);
-            authenticationJob = null;
-        }
-        localFuture = snapshotJob;
-        if (localFuture != null) {
-            localFuture.cancel(true);
-            snapshotJob = null;
-        }
-        localFuture = cameraConnectionJob;
-        if (localFuture != null) {
-            localFuture.cancel(true);
-            cameraConnectionJob = null;
+        synchronized (jobLock) {
+            Future<?> localFuture = pollCameraJob;
+            if (localFuture != null) {
+                localFuture.cancel(true);
+                pollCameraJob = null;
+            }
+            localFuture = authenticationJob;
+            if (localFuture != null) {
+                localFuture.cancel(true);
+                authenticationJob = null;
+            }
+            localFuture = snapshotJob;
+            if (localFuture != null) {
+                localFuture.cancel(true);
+                snapshotJob = null;
+            }
+            localFuture = cameraConnectionJob;
+            if (localFuture != null) {
+                localFuture.cancel(true);
+                cameraConnectionJob = null;
+            }
         }
         Ffmpeg localFfmpeg = ffmpegHLS;
         if (localFfmpeg != null) {
@@ -1879,13 +1942,16 @@ public class IpCameraHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
+        synchronized (jobLock) {
+            // set under the lock, so no job can be scheduled between this and cancelling the jobs in offline()
+            disposed = true;
+        }
         offline();
         CameraServlet localServlet = servlet;
         if (localServlet != null) {
             localServlet.dispose();
             servlet = null;
         }
-        threadPool.shutdown();
         // inform all group handlers that this camera has gone offline
         groupTracker.listOfOnlineCameraHandlers.remove(this);
         groupTracker.listOfOnlineCameraUID.remove(getThing().getUID().getId());
@@ -1894,7 +1960,6 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         basicAuth = ""; // clear out stored Password hash
         useDigestAuth = false;
-        mainEventLoopGroup.shutdownGracefully();
         mainBootstrap = null;
         channelTrackingMap.clear();
     }
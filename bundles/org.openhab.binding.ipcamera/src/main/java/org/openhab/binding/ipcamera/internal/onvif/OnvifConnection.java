@@ -28,8 +28,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.TimeZone;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -53,7 +51,8 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
@@ -63,6 +62,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.GlobalEventExecutor;
 
 /**
  * The {@link OnvifConnection} This is a basic Netty implementation for connecting and communicating to ONVIF cameras.
@@ -114,9 +114,9 @@ public class OnvifConnection {
     }
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
-    private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2);
     private @Nullable Bootstrap bootstrap;
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup(2);
+    // the event loop group is shared by all cameras, so the channels of this camera are tracked to close them
+    private final ChannelGroup openChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private ReentrantLock connecting = new ReentrantLock();
     private String ipAddress = "";
     private String user = "";
@@ -132,6 +132,8 @@ public class OnvifConnection {
     private boolean connectError = false;
     private boolean refusedError = false;
     private boolean isConnected = false;
+    // false after disconnect(), unlike isConnected this is already true while the connection is set up
+    private volatile boolean active = false;
     private int mediaProfileIndex = 0;
     private String snapshotUri = "";
     private String rtspUri = "";
@@ -309,6 +311,10 @@ public class OnvifConnection {
 
     public void processReply(String message) {
         logger.trace("Onvif reply is:{}", message);
+        if (!active) {
+            logger.trace("ONVIF reply ignored as the camera has been disconnected");
+            return;
+        }
         if (message.contains("PullMessagesResponse")) {
             eventRecieved(message);
         } else if (message.contains("RenewResponse")) {
@@ -497,6 +503,10 @@ public class OnvifConnection {
     }
 
     public void sendOnvifRequest(RequestType requestType, String xAddr) {
+        if (!active && !requestType.equals(RequestType.Unsubscribe)) {
+            logger.debug("ONVIF request {} not sent as the camera has been disconnected", requestType);
+            return;
+        }
         logger.trace("Sending ONVIF request:{}", requestType);
         String security = "";
         String extraEnvelope = "";
@@ -544,9 +554,8 @@ public class OnvifConnection {
 
         Bootstrap localBootstap = bootstrap;
         if (localBootstap == null) {
-            mainEventLoopGroup = new NioEventLoopGroup(2);
             localBootstap = new Bootstrap();
-            localBootstap.group(mainEventLoopGroup);
+            localBootstap.group(getEventLoopGroup());
             localBootstap.channel(NioSocketChannel.class);
             localBootstap.option(ChannelOption.SO_KEEPALIVE, true);
             localBootstap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000);
@@ -564,8 +573,8 @@ public class OnvifConnection {
             });
             bootstrap = localBootstap;
         }
-        if (!mainEventLoopGroup.isShuttingDown()) {
-            bootstrap.connect(new InetSocketAddress(ipAddress, onvifPort)).addListener(new ChannelFutureListener() {
+        if (!getEventLoopGroup().isShuttingDown()) {
+            localBootstap.connect(new InetSocketAddress(ipAddress, onvifPort)).addListener(new ChannelFutureListener() {
 
                 @Override
                 public void operationComplete(@Nullable ChannelFuture future) {
@@ -575,6 +584,7 @@ public class OnvifConnection {
                     if (future.isSuccess()) {
                         connectError = false;
                         Channel ch = future.channel();
+                        openChannels.add(ch);
                         ch.writeAndFlush(request);
                     } else { // an error occured
                         if (future.isDone() && !future.isCancelled()) {
@@ -926,9 +936,9 @@ public class OnvifConnection {
     public void connect(boolean useEvents) {
         connecting.lock();
         try {
+            active = true;
             if (!isConnected) {
                 logger.debug("Connecting {} to ONVIF", ipAddress);
-                threadPool = Executors.newScheduledThreadPool(2);
                 sendOnvifRequest(RequestType.GetSystemDateAndTime, deviceXAddr);
                 usingEvents = useEvents;
                 sendOnvifRequest(RequestType.GetCapabilities, deviceXAddr);
@@ -966,32 +976,31 @@ public class OnvifConnection {
         }
     }
 
+    // The event loop group and scheduler are shared by all cameras, so only the bootstrap of this camera is dropped.
+    private EventLoopGroup getEventLoopGroup() {
+        return ipCameraHandler.getSharedThreadPools().getEventLoopGroup();
+    }
+
     private void cleanup() {
-        if (!isConnected && !mainEventLoopGroup.isShuttingDown()) {
-            try {
-                mainEventLoopGroup.shutdownGracefully();
-                mainEventLoopGroup.awaitTermination(3, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                logger.warn("ONVIF was not cleanly shutdown, due to being interrupted");
-            } finally {
-                logger.debug("Eventloop is shutdown:{}", mainEventLoopGroup.isShutdown());
-                bootstrap = null;
-                threadPool.shutdown();
-            }
+        if (!isConnected) {
+            openChannels.close();
+            bootstrap = null;
         }
     }
 
     public void disconnect() {
         connecting.lock();// Lock out multiple disconnect()/connect() attempts as we try to send Unsubscribe.
         try {
+            active = false;
             if (bootstrap != null) {
-                if (isConnected && usingEvents && !mainEventLoopGroup.isShuttingDown()) {
+                if (isConnected && usingEvents && !getEventLoopGroup().isShuttingDown()) {
                     // Only makes sense to send if connected
                     // Some cameras may continue to send events even when they can't reach a server.
                     sendOnvifRequest(RequestType.Unsubscribe, subscriptionXAddr);
                 }
-                // give time for the Unsubscribe request to be sent, shutdownGracefully will try to send it first.
-                threadPool.schedule(this::cleanup, 50, TimeUnit.MILLISECONDS);
+                // give time for the Unsubscribe request to be sent before the bootstrap is dropped.
+                ipCameraHandler.getSharedThreadPools().getScheduler().schedule(this::cleanup, 50,
+                        TimeUnit.MILLISECONDS);
             } else {
                 cleanup();
             }
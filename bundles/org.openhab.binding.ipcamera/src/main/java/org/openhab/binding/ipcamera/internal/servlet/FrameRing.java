@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link FrameRing} holds the most recent frames of a camera's mjpeg stream once, so all viewers can read them by
+ * sequence number instead of each viewer buffering its own copy. The oldest frames are dropped when either the number
+ * of frames or their total size exceeds the limits, a viewer that falls behind further than that has to skip ahead.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRing {
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final long DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+    private final @Nullable Frame[] frames;
+    private final long maxBytes;
+    private long oldestSequence = 0;
+    private long nextSequence = 0;
+    private long bufferedBytes = 0;
+
+    public FrameRing() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BYTES);
+    }
+
+    public FrameRing(int capacity, long maxBytes) {
+        frames = new Frame[Math.max(1, capacity)];
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds a frame to the ring. The array is shared with all viewers and must not be changed afterwards.
+     *
+     * @return the sequence number of the frame
+     */
+    public synchronized long publish(byte[] data) {
+        if (nextSequence - oldestSequence == frames.length) {
+            dropOldest();
+        }
+        long sequence = nextSequence++;
+        frames[index(sequence)] = new Frame(data);
+        bufferedBytes += data.length;
+        // always keep the newest frame, even when it is larger than the limit on its own
+        while (bufferedBytes > maxBytes && nextSequence - oldestSequence > 1) {
+            dropOldest();
+        }
+        return sequence;
+    }
+
+    /**
+     * @return the frame with the given sequence number, or null when it is not published yet or already dropped
+     */
+    public synchronized @Nullable Frame get(long sequence) {
+        if (sequence < oldestSequence || sequence >= nextSequence) {
+            return null;
+        }
+        return frames[index(sequence)];
+    }
+
+    /**
+     * @return the sequence number of the newest frame that matches, or -1 if none does
+     */
+    public synchronized long findNewest(Predicate<Frame> predicate) {
+        for (long sequence = nextSequence - 1; sequence >= oldestSequence; sequence--) {
+            Frame frame = frames[index(sequence)];
+            if (frame != null && predicate.test(frame)) {
+                return sequence;
+            }
+        }
+        return -1;
+    }
+
+    public synchronized long getOldestSequence() {
+        return oldestSequence;
+    }
+
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(frames, null);
+        oldestSequence = nextSequence;
+        bufferedBytes = 0;
+    }
+
+    private void dropOldest() {
+        int index = index(oldestSequence++);
+        Frame frame = frames[index];
+        if (frame != null) {
+            bufferedBytes -= frame.data.length;
+            frames[index] = null;
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % frames.length);
+    }
+
+    /**
+     * A frame, or for streams that are passed through from the camera a chunk of the stream.
+     */
+    public static class Frame {
+        private final byte[] data;
+        private volatile byte @Nullable [] partHeader;
+
+        Frame(byte[] data) {
+            this.data = data;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * @return the multipart header for sending this frame as a jpeg, created once for all viewers
+         */
+        public byte[] getPartHeader(String boundary) {
+            byte[] localHeader = partHeader;
+            if (localHeader == null) {
+                localHeader = ("--" + boundary + "\r\nContent-Type: image/jpeg\r\nContent-Length: " + data.length
+                        + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                partHeader = localHeader;
+            }
+            return localHeader;
+        }
+
+        /**
+         * @return the index of the first occurrence of the pattern in this frame, or -1 if it is not found
+         */
+        public int indexOf(byte[] pattern) {
+            if (pattern.length == 0) {
+                return -1;
+            }
+            outer: for (int i = 0; i <= data.length - pattern.length; i++) {
+                for (int j = 0; j < pattern.length; j++) {
+                    if (data[i + j] != pattern[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -19,8 +19,9 @@ import java.util.List;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams so each byte[] is put once into a shared
+ * {@link FrameRing} that all streams read from, to allow 1 to many streams without needing to open more than 1 source
+ * stream.
  *
  *
  * @author Matthew Skinner - Initial contribution
@@ -29,6 +30,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class OpenStreams {
     private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<StreamOutput>());
+    private final FrameRing frameRing = new FrameRing();
     public String boundary = "thisMjpegStream";
 
     public synchronized void addStream(StreamOutput stream) {
@@ -37,6 +39,14 @@ public class OpenStreams {
 
     public synchronized void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
+        if (openStreams.isEmpty()) {
+            // don't keep the last frames in memory while nobody is watching
+            frameRing.clear();
+        }
+    }
+
+    public FrameRing getFrameRing() {
+        return frameRing;
     }
 
     public synchronized int getNumberOfStreams() {
@@ -55,15 +65,18 @@ public class OpenStreams {
     }
 
     public synchronized void queueFrame(byte[] frame) {
+        frameRing.publish(frame);
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.frameAvailable();
         }
     }
 
     public synchronized void closeAllStreams() {
-        for (StreamOutput stream : openStreams) {
+        // closing a stream can remove it from the list
+        for (StreamOutput stream : new ArrayList<>(openStreams)) {
             stream.close();
         }
         openStreams.clear();
+        frameRing.clear();
     }
 }
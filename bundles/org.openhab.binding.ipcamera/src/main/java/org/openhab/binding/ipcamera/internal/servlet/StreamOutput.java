@@ -13,33 +13,55 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.Helper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. Streams fed from a {@link FrameRing} are written with
+ * non-blocking servlet I/O, so they do not hold a servlet thread while waiting for frames or a slow client.
  *
  * @author Matthew Skinner - Initial contribution
  */
 
 @NonNullByDefault
 public class StreamOutput {
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
-    private final String boundary;
+    private String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<byte[]>(50);
     private boolean connected = false;
     public boolean isSnapshotBased = false;
 
+    // only used for streams fed from a FrameRing
+    private final Deque<ByteBuffer> pending = new ArrayDeque<>();
+    private @Nullable AsyncContext asyncContext;
+    private @Nullable FrameRing frameRing;
+    private @Nullable Executor executor;
+    private @Nullable Runnable onClose;
+    private long nextSequence = -1;
+    private long sentFrames = 0;
+    private boolean idle = false;
+    private boolean closed = false;
+
     public StreamOutput(HttpServletResponse response) throws IOException {
         boundary = "thisMjpegStream";
         contentType = "multipart/x-mixed-replace; boundary=" + boundary;
@@ -49,7 +71,7 @@ public class StreamOutput {
     }
 
     public StreamOutput(HttpServletResponse response, String contentType) throws IOException {
-        boundary = "";
+        boundary = Helper.searchString(contentType, "boundary=");
         this.contentType = contentType;
         this.response = response;
         output = response.getOutputStream();
@@ -67,38 +89,189 @@ public class StreamOutput {
             // iOS needs to have two jpgs sent for the picture to appear instantly.
             output.write(header.getBytes());
             output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
+            output.write(CRLF);
             connected = true;
         }
         output.write(header.getBytes());
         output.write(currentSnapshot);
-        output.write("\r\n".getBytes());
+        output.write(CRLF);
+    }
+
+    /**
+     * Switches to non-blocking I/O and streams the frames of the ring until the client disconnects. The servlet thread
+     * can return straight after calling this.
+     *
+     * @param executor used to resume writing when new frames arrive
+     * @param onClose called once when the stream has ended
+     */
+    public void startAsync(AsyncContext asyncContext, FrameRing frameRing, Executor executor, Runnable onClose) {
+        synchronized (this) {
+            this.asyncContext = asyncContext;
+            this.frameRing = frameRing;
+            this.executor = executor;
+            this.onClose = onClose;
+            if (!connected && !contentType.isEmpty()) {
+                // snapshot based streams know their content type from the start, nothing will update it later
+                sendInitialHeaders();
+                connected = true;
+            }
+        }
+        asyncContext.setTimeout(0);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(@Nullable AsyncEvent event) {
+                streamClosed();
+            }
+
+            @Override
+            public void onTimeout(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onError(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onStartAsync(@Nullable AsyncEvent event) {
+            }
+        });
+        output.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                writeFrames();
+            }
+
+            @Override
+            public void onError(@Nullable Throwable t) {
+                logger.debug("Stream to client failed:{}", t == null ? "" : t.getMessage());
+                close();
+            }
+        });
     }
 
-    public void queueFrame(byte[] frame) {
+    /**
+     * Called when a new frame was added to the ring, resumes writing if this stream was waiting for one.
+     */
+    public void frameAvailable() {
+        Executor localExecutor;
+        synchronized (this) {
+            localExecutor = executor;
+            if (!idle || closed || localExecutor == null) {
+                // either a write is in progress, or the container calls onWritePossible() once the client catches up
+                return;
+            }
+            idle = false;
+        }
+        localExecutor.execute(this::writeFrames);
+    }
+
+    private void writeFrames() {
+        if (!writeAvailableFrames()) {
+            // Occurs when browser stops the stream. Closed outside of the lock, as closing removes the stream.
+            close();
+        }
+    }
+
+    /**
+     * Writes until there are no more frames or the client can not take more data without blocking. In the latter case
+     * the container calls onWritePossible() again once it can.
+     *
+     * @return false if writing failed
+     */
+    private synchronized boolean writeAvailableFrames() {
+        FrameRing ring = frameRing;
+        if (ring == null || closed) {
+            return true;
+        }
         try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space:{}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
+            while (output.isReady()) {
+                ByteBuffer buffer = pending.poll();
+                if (buffer == null) {
+                    if (!queueNextFrame(ring)) {
+                        idle = true;
+                        return true;
+                    }
+                    continue;
+                }
+                output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
         }
     }
 
-    public void updateContentType(String contentType) {
-        this.contentType = contentType;
+    /**
+     * Queues the buffers of the next frame for writing. A client that fell behind skips to the newest frame instead
+     * of receiving the frames in between.
+     *
+     * @return false if there is nothing to send yet
+     */
+    private boolean queueNextFrame(FrameRing ring) {
         if (!connected) {
-            sendInitialHeaders();
-            connected = true;
+            // the content type of the camera's stream is not known yet
+            return false;
+        }
+        int offset = 0;
+        if (isSnapshotBased) {
+            // every frame is a complete jpeg, so the newest one is all that is worth sending
+            nextSequence = Math.max(nextSequence, ring.getNextSequence() - 1);
+        } else if (nextSequence < ring.getOldestSequence()) {
+            // a stream passed through from the camera can only be joined where a new part starts
+            byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+            long sequence = boundary.isEmpty() ? -1 : ring.findNewest(part -> part.indexOf(delimiter) >= 0);
+            FrameRing.Frame frame = sequence < 0 ? null : ring.get(sequence);
+            if (frame != null) {
+                nextSequence = sequence;
+                offset = frame.indexOf(delimiter);
+                if (sentFrames > 0) {
+                    // terminate the part that was cut off
+                    pending.add(ByteBuffer.wrap(CRLF));
+                }
+            } else {
+                nextSequence = ring.getNextSequence();
+            }
+            nextSequence = Math.max(nextSequence, ring.getOldestSequence());
+        }
+        FrameRing.Frame frame = ring.get(nextSequence);
+        if (frame == null) {
+            return !pending.isEmpty();
         }
+        byte[] data = frame.getData();
+        if (isSnapshotBased) {
+            byte[] header = frame.getPartHeader(boundary);
+            if (sentFrames == 0) {
+                // iOS needs to have two jpgs sent for the picture to appear instantly.
+                pending.add(ByteBuffer.wrap(header));
+                pending.add(ByteBuffer.wrap(data));
+                pending.add(ByteBuffer.wrap(CRLF));
+            }
+            pending.add(ByteBuffer.wrap(header));
+            pending.add(ByteBuffer.wrap(data));
+            pending.add(ByteBuffer.wrap(CRLF));
+        } else {
+            pending.add(ByteBuffer.wrap(data, offset, data.length - offset));
+        }
+        nextSequence++;
+        sentFrames++;
+        return true;
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+    public void updateContentType(String contentType) {
+        synchronized (this) {
+            this.contentType = contentType;
+            if (!isSnapshotBased) {
+                boundary = Helper.searchString(contentType, "boundary=");
+            }
+            if (connected) {
+                return;
+            }
+            sendInitialHeaders();
+            connected = true;
         }
+        frameAvailable();
     }
 
     private void sendInitialHeaders() {
@@ -108,9 +281,38 @@ public class StreamOutput {
     }
 
     public void close() {
+        AsyncContext localContext;
+        synchronized (this) {
+            localContext = asyncContext;
+        }
+        if (localContext != null) {
+            try {
+                localContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+            // the container may not report completion of a stream it already considers failed
+            streamClosed();
+            return;
+        }
         try {
             output.close();
         } catch (IOException e) {
         }
     }
+
+    private void streamClosed() {
+        Runnable localOnClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            localOnClose = onClose;
+        }
+        if (localOnClose != null) {
+            localOnClose.run();
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests the {@link StreamOutput} streaming frames of a {@link FrameRing} with non-blocking I/O.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class StreamOutputTest {
+    private static final String SNAPSHOT_CONTENT_TYPE = "multipart/x-mixed-replace; boundary=thisMjpegStream";
+
+    private @Mock @NonNullByDefault({}) HttpServletResponse response;
+    private @Mock @NonNullByDefault({}) AsyncContext asyncContext;
+
+    private final RecordingOutputStream output = new RecordingOutputStream();
+    private final FrameRing frameRing = new FrameRing();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        when(response.getOutputStream()).thenReturn(output);
+    }
+
+    @Test
+    public void snapshotBasedStreamSendsPublishedFrame() throws IOException {
+        StreamOutput stream = new StreamOutput(response);
+        stream.startAsync(asyncContext, frameRing, Runnable::run, () -> {
+        });
+        verify(response).setContentType(SNAPSHOT_CONTENT_TYPE);
+
+        output.writePossible();
+        assertEquals(0, output.toString().length());
+
+        frameRing.publish("jpeg".getBytes(StandardCharsets.US_ASCII));
+        stream.frameAvailable();
+
+        String part = "--thisMjpegStream\r\nContent-Type: image/jpeg\r\nContent-Length: 4\r\n\r\njpeg\r\n";
+        // the first frame is sent twice for iOS
+        assertEquals(part + part, output.toString());
+    }
+
+    private static class RecordingOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private @Nullable WriteListener writeListener;
+
+        void writePossible() {
+            WriteListener listener = writeListener;
+            assertNotNull(listener);
+            listener.onWritePossible();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(@Nullable WriteListener writeListener) {
+            this.writeListener = writeListener;
+        }
+
+        @Override
+        public void write(int b) {
+            data.write(b);
+        }
+
+        @Override
+        public void write(byte @Nullable [] b, int off, int len) {
+            if (b != null) {
+                data.write(b, off, len);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return data.toString(StandardCharsets.US_ASCII);
+        }
+    }
+}
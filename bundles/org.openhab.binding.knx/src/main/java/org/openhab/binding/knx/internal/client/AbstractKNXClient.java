@@ -19,7 +19,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -68,6 +67,7 @@ import tuwien.auto.calimero.secure.Security;
  * KNX Client which encapsulates the communication with the KNX bus via the calimero libary.
  *
  * @author Simon Kaufmann - initial contribution and API.
+ * @author agent - De-duplicating, prioritized read scheduling
  *
  */
 @NonNullByDefault
@@ -104,7 +104,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final ReadDatapointScheduler readScheduler;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -121,12 +121,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
+            readScheduler.telegramReceived();
             processEvent("Group Write", e, (listener, source, destination, asdu) -> listener
                     .onGroupWrite(AbstractKNXClient.this, source, destination, asdu));
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
+            readScheduler.telegramReceived();
             processEvent("Group Read Request", e, (listener, source, destination, asdu) -> listener
                     .onGroupRead(AbstractKNXClient.this, source, destination, asdu));
         }
@@ -149,6 +151,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
         this.commandExtensionData = commandExtensionData;
+        this.readScheduler = new ReadDatapointScheduler(readingPause, commandExtensionData.readStatistics());
     }
 
     public void initialize() {
@@ -299,7 +302,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             tmplink.removeLinkListener(this);
         }
         busJob = nullify(busJob, j -> j.cancel(true));
-        readDatapoints.clear();
+        readScheduler.clear();
         responseCommunicator = nullify(responseCommunicator, rc -> {
             rc.removeProcessListener(processListener);
             rc.detach();
@@ -349,8 +352,6 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
     private void readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
@@ -359,17 +360,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        ReadDatapoint datapoint = readScheduler.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long startNanos = System.nanoTime();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                readScheduler.readFinished(System.nanoTime() - startNanos, true);
             } catch (KNXException e) {
+                readScheduler.readFinished(System.nanoTime() - startNanos, false);
                 // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
                 // KnxIllegArgumentException
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    readScheduler.add(datapoint, false);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -379,6 +383,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             } catch (InterruptedException | CancellationException e) {
                 logger.debug("Interrupted sending KNX read request");
             } catch (Exception e) {
+                readScheduler.readFinished(System.nanoTime() - startNanos, false);
                 // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
                 // Not catching this would end the scheduled read for all DPs in case of an error.
                 // Severity is warning as this is likely caused by a configuration error.
@@ -456,13 +461,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, boolean prioritized) {
+        readScheduler.add(new ReadDatapoint(datapoint, readRetriesLimit), prioritized);
     }
 
     @Override
@@ -505,6 +505,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         logger.trace("writeToKNX groupAddress '{}', commandSpec '{}'", groupAddress, commandSpec);
 
+        readScheduler.commandSent(groupAddress);
+
         sendToKNX(processCommunicator, groupAddress, commandSpec.getDPT(), commandSpec.getValue());
     }
 
@@ -78,8 +78,10 @@ public interface KNXClient {
      * Schedule the given data point for asynchronous reading.
      *
      * @param datapoint the datapoint
+     * @param prioritized whether to read the datapoint before the other queued datapoints, e.g. on an explicit
+     *            refresh
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, boolean prioritized);
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus, which also decides how long to pause between two reads.
+ * <p>
+ * Every group address is queued at most once, so queueing a read takes constant time regardless of the number of
+ * pending reads. Prioritized reads, i.e. explicitly refreshed or recently commanded group addresses, are sent before
+ * all other reads.
+ * <p>
+ * The pause between two reads is at least the configured reading pause. It grows when other devices keep the bus busy
+ * or when the responses take much longer than usual, so the initial reads of large installations do not congest the
+ * bus or the tunnel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointScheduler {
+    // group addresses written within this time are read with priority
+    private static final long RECENT_COMMAND_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long BUS_LOAD_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // number of telegrams per second a TP1 line can carry
+    private static final int BUS_CAPACITY_TELEGRAMS_PER_SECOND = 50;
+    private static final long MAX_PAUSE_MS = 2000;
+    // weight of the latest read in the average latency
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final int readingPause;
+    private final ReadStatistics statistics;
+    private final LongSupplier nanoTime;
+
+    private final Map<GroupAddress, ReadDatapoint> prioritizedReads = new LinkedHashMap<>();
+    private final Map<GroupAddress, ReadDatapoint> reads = new LinkedHashMap<>();
+    // ordered by the time of the last command, so expired entries are always at the head
+    private final Map<GroupAddress, Long> lastCommandNanos = new LinkedHashMap<>();
+
+    private long nextReadNanos;
+    private double averageLatencyMs = -1;
+    private double minimumLatencyMs = Double.MAX_VALUE;
+    private long busLoadWindowStartNanos;
+    private int telegramsInWindow;
+    private int telegramsPerSecond;
+
+    /**
+     * @param readingPause the configured pause between two reads in milliseconds, the read job runs at this delay
+     * @param statistics the statistics to update
+     */
+    public ReadDatapointScheduler(int readingPause, ReadStatistics statistics) {
+        this(readingPause, statistics, System::nanoTime);
+    }
+
+    ReadDatapointScheduler(int readingPause, ReadStatistics statistics, LongSupplier nanoTime) {
+        this.readingPause = readingPause;
+        this.statistics = statistics;
+        this.nanoTime = nanoTime;
+        this.nextReadNanos = nanoTime.getAsLong();
+        this.busLoadWindowStartNanos = nextReadNanos;
+        statistics.pauseChanged(readingPause, 0);
+    }
+
+    /**
+     * Queues a datapoint to be read, unless its group address is already queued. Queueing an already queued group
+     * address with priority moves it to the prioritized reads.
+     *
+     * @param datapoint the datapoint to read
+     * @param prioritized whether to read the datapoint before the not prioritized ones
+     */
+    public synchronized void add(ReadDatapoint datapoint, boolean prioritized) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (prioritizedReads.containsKey(address)) {
+            return;
+        }
+        if (prioritized || isRecentlyCommanded(address)) {
+            ReadDatapoint queuedDatapoint = reads.remove(address);
+            prioritizedReads.put(address, queuedDatapoint != null ? queuedDatapoint : datapoint);
+        } else {
+            reads.putIfAbsent(address, datapoint);
+        }
+        statistics.queueChanged(size(), prioritizedReads.size());
+    }
+
+    /**
+     * Takes the next datapoint to read.
+     *
+     * @return the datapoint, or null if no read is queued or the pause after the last read is not over yet
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        if (nanoTime.getAsLong() - nextReadNanos < 0) {
+            return null;
+        }
+        Map<GroupAddress, ReadDatapoint> queue = prioritizedReads.isEmpty() ? reads : prioritizedReads;
+        Iterator<ReadDatapoint> iterator = queue.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        ReadDatapoint datapoint = iterator.next();
+        iterator.remove();
+        statistics.queueChanged(size(), prioritizedReads.size());
+        return datapoint;
+    }
+
+    /**
+     * Records a finished read and calculates the pause before the next read.
+     *
+     * @param latencyNanos the time the read took
+     * @param success whether a response was received
+     */
+    public synchronized void readFinished(long latencyNanos, boolean success) {
+        statistics.readFinished(latencyNanos, success);
+        // failed reads usually time out because a device does not respond, which says nothing about the bus
+        if (success) {
+            double latencyMs = latencyNanos / 1_000_000.0;
+            averageLatencyMs = averageLatencyMs < 0 ? latencyMs
+                    : (1 - LATENCY_WEIGHT) * averageLatencyMs + LATENCY_WEIGHT * latencyMs;
+            minimumLatencyMs = Math.min(minimumLatencyMs, latencyMs);
+        }
+
+        long now = nanoTime.getAsLong();
+        updateBusLoad(now);
+        long pauseMs = calculatePauseMs();
+        // the read job already runs at the configured reading pause, only the additional pause is enforced here
+        nextReadNanos = now + TimeUnit.MILLISECONDS.toNanos(pauseMs - readingPause);
+        statistics.pauseChanged(pauseMs, telegramsPerSecond);
+    }
+
+    /**
+     * Records a telegram of another device on the bus.
+     */
+    public synchronized void telegramReceived() {
+        updateBusLoad(nanoTime.getAsLong());
+        telegramsInWindow++;
+    }
+
+    /**
+     * Records a command sent to a group address, reads of this address are prioritized for a while.
+     *
+     * @param address the group address
+     */
+    public synchronized void commandSent(GroupAddress address) {
+        long now = nanoTime.getAsLong();
+        removeExpiredCommands(now);
+        // re-insert to move the address to the tail
+        lastCommandNanos.remove(address);
+        lastCommandNanos.put(address, now);
+    }
+
+    public synchronized int size() {
+        return prioritizedReads.size() + reads.size();
+    }
+
+    public synchronized void clear() {
+        prioritizedReads.clear();
+        reads.clear();
+        statistics.queueChanged(0, 0);
+    }
+
+    synchronized int getRecentlyCommandedCount() {
+        return lastCommandNanos.size();
+    }
+
+    private boolean isRecentlyCommanded(GroupAddress address) {
+        removeExpiredCommands(nanoTime.getAsLong());
+        return lastCommandNanos.containsKey(address);
+    }
+
+    private void removeExpiredCommands(long now) {
+        Iterator<Long> iterator = lastCommandNanos.values().iterator();
+        while (iterator.hasNext() && now - iterator.next() >= RECENT_COMMAND_NANOS) {
+            iterator.remove();
+        }
+    }
+
+    private void updateBusLoad(long now) {
+        long elapsedNanos = now - busLoadWindowStartNanos;
+        if (elapsedNanos >= BUS_LOAD_WINDOW_NANOS) {
+            // the count of a window that ended more than a window ago does not describe the current load
+            telegramsPerSecond = elapsedNanos < 2 * BUS_LOAD_WINDOW_NANOS ? telegramsInWindow : 0;
+            telegramsInWindow = 0;
+            busLoadWindowStartNanos = now;
+        }
+    }
+
+    private long calculatePauseMs() {
+        long pauseMs = readingPause;
+
+        // use at most half of the bus capacity the other devices leave, a read takes a request and a response
+        int freeTelegramsPerSecond = Math.max(1, BUS_CAPACITY_TELEGRAMS_PER_SECOND - telegramsPerSecond);
+        long readIntervalMs = 2 * 2 * 1000 / freeTelegramsPerSecond;
+        pauseMs = Math.max(pauseMs, readIntervalMs - (long) Math.max(0, averageLatencyMs));
+
+        // responses taking much longer than usual indicate a congested tunnel or bus
+        if (averageLatencyMs > 2 * minimumLatencyMs) {
+            pauseMs = Math.max(pauseMs, (long) averageLatencyMs);
+        }
+
+        return Math.min(pauseMs, Math.max(readingPause, MAX_PAUSE_MS));
+    }
+}
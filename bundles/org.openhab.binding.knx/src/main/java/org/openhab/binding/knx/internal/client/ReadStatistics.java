@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the read requests of a bridge, shown by the console command extension.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadStatistics {
+    private int queuedReads;
+    private int queuedPrioritizedReads;
+    private long reads;
+    private long failedReads;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private long pauseMs;
+    private int telegramsPerSecond;
+
+    synchronized void queueChanged(int queuedReads, int queuedPrioritizedReads) {
+        this.queuedReads = queuedReads;
+        this.queuedPrioritizedReads = queuedPrioritizedReads;
+    }
+
+    synchronized void readFinished(long latencyNanos, boolean success) {
+        if (success) {
+            reads++;
+            totalLatencyNanos += latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+        } else {
+            failedReads++;
+        }
+    }
+
+    synchronized void pauseChanged(long pauseMs, int telegramsPerSecond) {
+        this.pauseMs = pauseMs;
+        this.telegramsPerSecond = telegramsPerSecond;
+    }
+
+    public synchronized int getQueuedReads() {
+        return queuedReads;
+    }
+
+    public synchronized int getQueuedPrioritizedReads() {
+        return queuedPrioritizedReads;
+    }
+
+    public synchronized long getReads() {
+        return reads;
+    }
+
+    public synchronized long getFailedReads() {
+        return failedReads;
+    }
+
+    public synchronized double getAverageLatencyMs() {
+        return reads == 0 ? 0 : totalLatencyNanos / (reads * 1_000_000.0);
+    }
+
+    public synchronized double getMaxLatencyMs() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public synchronized long getPauseMs() {
+        return pauseMs;
+    }
+
+    public synchronized int getTelegramsPerSecond() {
+        return telegramsPerSecond;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("queued: %d (%d prioritized), read: %d, failed: %d, latency avg: %.1f ms, max: %.1f ms, "
+                + "pause: %d ms, bus load: %d telegrams/s", queuedReads, queuedPrioritizedReads, reads, failedReads,
+                getAverageLatencyMs(), getMaxLatencyMs(), pauseMs, telegramsPerSecond);
+    }
+}
@@ -20,10 +20,14 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.measure.Unit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DateTimeType;
@@ -39,6 +43,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.types.Type;
 import org.openhab.core.types.UnDefType;
+import org.openhab.core.types.util.UnitUtils;
 import org.openhab.core.util.ColorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +65,7 @@ import tuwien.auto.calimero.dptxlator.TranslatorTypes;
  * Parts of this code are based on the openHAB KNXCoreTypeMapper by Kai Kreuzer et al.
  *
  * @author Jan N. Klug - Initial contribution
+ * @author agent - Direct decoding of color and boolean DPTs, translator cache
  */
 @NonNullByDefault
 public class ValueDecoder {
@@ -78,6 +84,9 @@ public class ValueDecoder {
     public static final Pattern XYY_PATTERN = Pattern
             .compile("(?:\\((?<x>\\d+(?:[,.]\\d+)?) (?<y>\\d+(?:[,.]\\d+)?)\\))?\\s*(?:(?<Y>\\d+(?:[,.]\\d+)?)\\s%)?");
 
+    // user-supplied DPT -> translator and parsed DPT, only contains DPTs that Calimero supports
+    private static final Map<String, DecoderEntry> DECODER_ENTRIES = new ConcurrentHashMap<>();
+
     /**
      * convert the raw value received to the corresponding openHAB value
      *
@@ -87,68 +96,33 @@ public class ValueDecoder {
      * @return the data converted to an openHAB Type (or null if conversion failed)
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(0,
-                    DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = dptId; // prefer using the user-supplied DPT
+        return decode(dptId, data, preferredType, true);
+    }
 
-            Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
-            if (!m.matches() || m.groupCount() != 2) {
-                LOGGER.trace("User-Supplied DPT '{}' did not match for sub-type, using DPT returned from Translator",
-                        id);
-                id = translator.getType().getID();
-                m = DPTUtil.DPT_PATTERN.matcher(id);
-                if (!m.matches() || m.groupCount() != 2) {
-                    LOGGER.warn("Couldn't identify main/sub number in dptID '{}'", id);
-                    return null;
+    /**
+     * convert the raw value received to the corresponding openHAB value
+     *
+     * @param dptId the DPT of the given data
+     * @param data a byte array containing the value
+     * @param preferredType the preferred datatype for this conversion
+     * @param allowDirectDecoding whether DPTs with a simple encoding may be decoded without a Calimero translator
+     * @return the data converted to an openHAB Type (or null if conversion failed)
+     */
+    static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType,
+            boolean allowDirectDecoding) {
+        try {
+            DecoderEntry entry = getDecoderEntry(dptId);
+            if (entry == null) {
+                return null;
+            }
+            if (allowDirectDecoding) {
+                Type type = decodeDirectly(entry.mainType, entry.subType, data, preferredType);
+                if (type != null) {
+                    return type;
                 }
             }
-            LOGGER.trace("Finally using datapoint DPT = {}", id);
-
-            String mainType = m.group("main");
-            String subType = m.group("sub");
-
-            switch (mainType) {
-                case "1":
-                    return handleDpt1(subType, translator);
-                case "2":
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case "3":
-                    return handleDpt3(subType, translator);
-                case "10":
-                    return handleDpt10(value);
-                case "11":
-                    return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
-                            .format(new SimpleDateFormat(DATE_FORMAT).parse(value)));
-                case "18":
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    return new DecimalType(decimalValue);
-                case "19":
-                    return handleDpt19(translator);
-                case "16":
-                case "20":
-                case "21":
-                case "22":
-                case "28":
-                    return StringType.valueOf(value);
-                case "232":
-                    return handleDpt232(value, subType);
-                case "242":
-                    return handleDpt242(value);
-                case "251":
-                    return handleDpt251(value, preferredType);
-                default:
-                    return handleNumericDpt(id, translator, preferredType);
+            synchronized (entry) {
+                return decodeWithTranslator(entry, data, preferredType);
             }
         } catch (NumberFormatException | KNXFormatException | KNXIllegalArgumentException | ParseException e) {
             LOGGER.info("Translator couldn't parse data '{}' for datapoint type '{}' ({}).", data, dptId, e.getClass());
@@ -159,23 +133,138 @@ public class ValueDecoder {
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    private static @Nullable DecoderEntry getDecoderEntry(String dptId) throws KNXException {
+        DecoderEntry entry = DECODER_ENTRIES.get(dptId);
+        if (entry != null) {
+            return entry;
+        }
+
+        DPTXlator translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+
+        String id = dptId; // prefer using the user-supplied DPT
+
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
+        if (!m.matches() || m.groupCount() != 2) {
+            LOGGER.trace("User-Supplied DPT '{}' did not match for sub-type, using DPT returned from Translator", id);
+            id = translator.getType().getID();
+            m = DPTUtil.DPT_PATTERN.matcher(id);
+            if (!m.matches() || m.groupCount() != 2) {
+                LOGGER.warn("Couldn't identify main/sub number in dptID '{}'", id);
+                return null;
+            }
+        }
+        LOGGER.trace("Finally using datapoint DPT = {}", id);
+
+        entry = new DecoderEntry(translator, id, m.group("main"), m.group("sub"));
+        DecoderEntry previousEntry = DECODER_ENTRIES.putIfAbsent(dptId, entry);
+        return previousEntry != null ? previousEntry : entry;
+    }
+
+    /**
+     * Decodes DPTs with a simple encoding directly from the raw data, without formatting and parsing the value as a
+     * string. Values that are invalid or not supported here are left to the translator, which also reports the
+     * errors.
+     *
+     * @return the decoded value or null if the data has to be decoded by the translator
+     */
+    private static @Nullable Type decodeDirectly(String mainType, String subType, byte[] data,
+            Class<? extends Type> preferredType) {
+        switch (mainType) {
+            case "1":
+                return data.length >= 1 ? handleDpt1(subType, (data[0] & 0x01) != 0) : null;
+            case "232":
+                // other subtypes are reported by the translator
+                if (data.length < 3 || !("600".equals(subType) || "60000".equals(subType))) {
+                    return null;
+                }
+                return handleDpt232(subType, data[0] & 0xff, data[1] & 0xff, data[2] & 0xff);
+            case "242":
+                // last byte: bit 1 = xy valid, bit 0 = brightness valid
+                if (data.length < 6 || (data[5] & 0x02) == 0) {
+                    return null;
+                }
+                double x = roundToResolution((((data[0] & 0xff) << 8) | (data[1] & 0xff)) / 65535.0, 10000);
+                double y = roundToResolution((((data[2] & 0xff) << 8) | (data[3] & 0xff)) / 65535.0, 10000);
+                if ((data[5] & 0x01) == 0) {
+                    return ColorUtil.xyToHsb(new double[] { x, y });
+                }
+                double pY = roundToResolution((data[4] & 0xff) * 100.0 / 255.0, 10);
+                return ColorUtil.xyToHsb(new double[] { x, y, pY / 100.0 });
+            case "251":
+                // last byte: bit 3 = red valid, bit 2 = green valid, bit 1 = blue valid, bit 0 = white valid
+                if (data.length < 6 || (data[5] & 0x0e) != 0x0e || !HSBType.class.equals(preferredType)) {
+                    return null;
+                }
+                return HSBType.fromRGB(rgbwToRgb(data[0]), rgbwToRgb(data[1]), rgbwToRgb(data[2]));
+            default:
+                return null;
+        }
+    }
+
+    private static @Nullable Type decodeWithTranslator(DecoderEntry entry, byte[] data,
+            Class<? extends Type> preferredType) throws KNXFormatException, ParseException {
+        DPTXlator translator = entry.translator;
+        translator.setData(data);
+
+        String subType = entry.subType;
+
+        switch (entry.mainType) {
+            case "1":
+                return handleDpt1(subType, ((DPTXlatorBoolean) translator).getValueBoolean());
+            case "2":
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case "3":
+                return handleDpt3(subType, translator);
+            case "10":
+                return handleDpt10(translator.getValue());
+            case "11":
+                return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
+                        .format(new SimpleDateFormat(DATE_FORMAT).parse(translator.getValue())));
+            case "18":
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (translator.getValue().startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                return new DecimalType(decimalValue);
+            case "19":
+                return handleDpt19(translator);
+            case "16":
+            case "20":
+            case "21":
+            case "22":
+            case "28":
+                return StringType.valueOf(translator.getValue());
+            case "232":
+                return handleDpt232(translator.getValue(), subType);
+            case "242":
+                return handleDpt242(translator.getValue());
+            case "251":
+                return handleDpt251(translator.getValue(), preferredType);
+            default:
+                return handleNumericDpt(entry, translator, preferredType);
+        }
+    }
+
+    private static Type handleDpt1(String subType, boolean value) {
         switch (subType) {
             case "008":
-                return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+                return value ? UpDownType.DOWN : UpDownType.UP;
             case "009":
             case "019":
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
             case "010":
-                return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
+                return value ? StopMoveType.MOVE : StopMoveType.STOP;
             case "022":
-                return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+                return DecimalType.valueOf(value ? "1" : "0");
             default:
-                return OnOffType.from(translatorBoolean.getValueBoolean());
+                return OnOffType.from(value);
         }
     }
 
@@ -279,24 +368,28 @@ public class ValueDecoder {
             int g = Integer.parseInt(rgb.group("g"));
             int b = Integer.parseInt(rgb.group("b"));
 
-            switch (subType) {
-                case "600":
-                    return HSBType.fromRGB(r, g, b);
-                case "60000":
-                    // MDT specific: mis-use 232.600 for hsv instead of rgb
-                    DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
-                    PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
-                    PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
-                    return new HSBType(hue, sat, bright);
-                default:
-                    LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
-                    return null;
-            }
+            return handleDpt232(subType, r, g, b);
         }
         LOGGER.warn("Failed to convert '{}' (DPT 232): Pattern does not match", value);
         return null;
     }
 
+    private static @Nullable Type handleDpt232(String subType, int r, int g, int b) {
+        switch (subType) {
+            case "600":
+                return HSBType.fromRGB(r, g, b);
+            case "60000":
+                // MDT specific: mis-use 232.600 for hsv instead of rgb
+                DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
+                PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
+                PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
+                return new HSBType(hue, sat, bright);
+            default:
+                LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
+                return null;
+        }
+    }
+
     private static @Nullable Type handleDpt242(String value) {
         Matcher xyY = XYY_PATTERN.matcher(value);
         if (xyY.matches()) {
@@ -345,9 +438,10 @@ public class ValueDecoder {
         return null;
     }
 
-    private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
-            throws KNXFormatException {
-        Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
+    private static @Nullable Type handleNumericDpt(DecoderEntry entry, DPTXlator translator,
+            Class<? extends Type> preferredType) throws KNXFormatException {
+        String id = entry.id;
+        Set<Class<? extends Type>> allowedTypes = entry.allowedTypes;
 
         double value = translator.getNumericValue();
         if (allowedTypes.contains(PercentType.class)
@@ -356,9 +450,12 @@ public class ValueDecoder {
         }
 
         if (allowedTypes.contains(QuantityType.class) && !disableUoM) {
-            String unit = DPTUnits.getUnitForDpt(id);
+            Unit<?> unit = entry.unit;
+            String unitString = entry.unitString;
             if (unit != null) {
-                return new QuantityType<>(value + " " + unit);
+                return new QuantityType<>(value, unit);
+            } else if (unitString != null) {
+                return new QuantityType<>(value + " " + unitString);
             } else {
                 LOGGER.trace("Could not determine unit for DPT '{}', fallback to plain decimal", id);
             }
@@ -372,6 +469,23 @@ public class ValueDecoder {
         return null;
     }
 
+    private static int rgbwToRgb(byte value) {
+        double percent = roundToResolution((value & 0xff) * 100.0 / 255.0, 10);
+        return coerceToRange((int) (percent * 2.55), 0, 255);
+    }
+
+    /**
+     * Rounds a value to the resolution of Calimero's string notation, so decoding the raw data directly returns the
+     * same value as parsing the string.
+     *
+     * @param value the value
+     * @param stepsPerUnit 10^number of decimal places
+     * @return the rounded value
+     */
+    private static double roundToResolution(double value, int stepsPerUnit) {
+        return Math.round(value * stepsPerUnit) / (double) stepsPerUnit;
+    }
+
     private static double coerceToRange(double value, double min, double max) {
         return Math.min(Math.max(value, min), max);
     }
@@ -379,4 +493,29 @@ public class ValueDecoder {
     private static int coerceToRange(int value, int min, int max) {
         return Math.min(Math.max(value, min), max);
     }
+
+    /**
+     * The translator and everything derived from the DPT, created once per user-supplied DPT. The translator is not
+     * thread-safe, access to it must be synchronized on the entry.
+     */
+    private static class DecoderEntry {
+        private final DPTXlator translator;
+        private final String id;
+        private final String mainType;
+        private final String subType;
+        private final Set<Class<? extends Type>> allowedTypes;
+        private final @Nullable String unitString;
+        private final @Nullable Unit<?> unit;
+
+        private DecoderEntry(DPTXlator translator, String id, String mainType, String subType) {
+            this.translator = translator;
+            this.id = id;
+            this.mainType = mainType;
+            this.subType = subType;
+            this.allowedTypes = DPTUtil.getAllowedTypes(id);
+            String unitString = DPTUnits.getUnitForDpt(id);
+            this.unitString = unitString;
+            this.unit = unitString != null ? UnitUtils.parseUnit(unitString) : null;
+        }
+    }
 }
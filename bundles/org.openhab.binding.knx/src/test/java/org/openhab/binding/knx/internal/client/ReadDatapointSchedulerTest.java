@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class ReadDatapointSchedulerTest {
+    private static final GroupAddress GA_1 = new GroupAddress(1, 1, 1);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 1, 2);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 1, 3);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final ReadStatistics statistics = new ReadStatistics();
+    private final ReadDatapointScheduler scheduler = new ReadDatapointScheduler(50, statistics, nanoTime::get);
+
+    private static ReadDatapoint readDatapoint(GroupAddress address) {
+        return new ReadDatapoint(new CommandDP(address, "test", 0, "1.001"), 3);
+    }
+
+    private @Nullable GroupAddress pollAddress() {
+        ReadDatapoint datapoint = scheduler.poll();
+        return datapoint == null ? null : datapoint.getDatapoint().getMainAddress();
+    }
+
+    private void advanceMs(long ms) {
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    @Test
+    void testDuplicateReadsAreQueuedOnce() {
+        scheduler.add(readDatapoint(GA_1), false);
+        scheduler.add(readDatapoint(GA_2), false);
+        scheduler.add(readDatapoint(GA_1), false);
+
+        assertEquals(2, scheduler.size());
+        assertEquals(2, statistics.getQueuedReads());
+        assertEquals(GA_1, pollAddress());
+        assertEquals(GA_2, pollAddress());
+        assertNull(pollAddress());
+    }
+
+    @Test
+    void testPrioritizedReadsAreReadFirst() {
+        scheduler.add(readDatapoint(GA_1), false);
+        scheduler.add(readDatapoint(GA_2), false);
+        scheduler.add(readDatapoint(GA_3), true);
+        scheduler.add(readDatapoint(GA_2), true);
+
+        assertEquals(3, scheduler.size());
+        assertEquals(2, statistics.getQueuedPrioritizedReads());
+        assertEquals(GA_3, pollAddress());
+        assertEquals(GA_2, pollAddress());
+        assertEquals(GA_1, pollAddress());
+    }
+
+    @Test
+    void testRecentlyCommandedAddressesArePrioritized() {
+        scheduler.commandSent(GA_2);
+        scheduler.add(readDatapoint(GA_1), false);
+        scheduler.add(readDatapoint(GA_2), false);
+        assertEquals(GA_2, pollAddress());
+        assertEquals(GA_1, pollAddress());
+
+        advanceMs(61_000);
+        scheduler.add(readDatapoint(GA_1), false);
+        scheduler.add(readDatapoint(GA_2), false);
+        assertEquals(GA_1, pollAddress());
+        assertEquals(GA_2, pollAddress());
+    }
+
+    @Test
+    void testExpiredCommandsAreForgotten() {
+        scheduler.commandSent(GA_1);
+        advanceMs(30_000);
+        scheduler.commandSent(GA_2);
+        scheduler.commandSent(GA_1);
+        assertEquals(2, scheduler.getRecentlyCommandedCount());
+
+        advanceMs(40_000);
+        scheduler.commandSent(GA_3);
+        assertEquals(3, scheduler.getRecentlyCommandedCount());
+
+        advanceMs(30_000);
+        scheduler.add(readDatapoint(GA_1), false);
+        assertEquals(1, scheduler.getRecentlyCommandedCount());
+        assertEquals(0, statistics.getQueuedPrioritizedReads());
+    }
+
+    @Test
+    void testPauseOnIdleBusIsReadingPause() {
+        scheduler.readFinished(TimeUnit.MILLISECONDS.toNanos(100), true);
+
+        assertEquals(50, statistics.getPauseMs());
+        scheduler.add(readDatapoint(GA_1), false);
+        assertEquals(GA_1, pollAddress());
+    }
+
+    @Test
+    void testPauseGrowsWithBusLoad() {
+        for (int i = 0; i < 40; i++) {
+            scheduler.telegramReceived();
+        }
+        advanceMs(1000);
+        scheduler.readFinished(TimeUnit.MILLISECONDS.toNanos(100), true);
+
+        // 10 telegrams/s are left, half of them for reads: 400 ms per read including the latency
+        assertEquals(40, statistics.getTelegramsPerSecond());
+        assertEquals(300, statistics.getPauseMs());
+
+        // the read job already waits the reading pause
+        scheduler.add(readDatapoint(GA_1), false);
+        advanceMs(249);
+        assertNull(pollAddress());
+        advanceMs(1);
+        assertEquals(GA_1, pollAddress());
+    }
+
+    @Test
+    void testPauseGrowsWithLatency() {
+        scheduler.readFinished(TimeUnit.MILLISECONDS.toNanos(20), true);
+        for (int i = 0; i < 5; i++) {
+            scheduler.readFinished(TimeUnit.MILLISECONDS.toNanos(200), true);
+        }
+
+        assertTrue(statistics.getPauseMs() > 100);
+    }
+
+    @Test
+    void testFailedReadsDoNotChangeLatency() {
+        scheduler.readFinished(TimeUnit.MILLISECONDS.toNanos(20), true);
+        scheduler.readFinished(TimeUnit.SECONDS.toNanos(10), false);
+
+        // 80 ms per read on an idle bus, including the latency of 20 ms
+        assertEquals(60, statistics.getPauseMs());
+        assertEquals(1, statistics.getReads());
+        assertEquals(1, statistics.getFailedReads());
+        assertEquals(20, statistics.getAverageLatencyMs(), 0.001);
+    }
+}
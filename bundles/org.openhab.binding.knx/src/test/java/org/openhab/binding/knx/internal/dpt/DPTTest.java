@@ -23,13 +23,16 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
@@ -478,4 +481,30 @@ class DPTTest {
             Assertions.assertEquals(String.format("(%.4f %.4f) %.1f %%", dx, dy, dY), result);
         }
     }
+
+    private static Stream<Arguments> directDecodingProvider() {
+        Stream<Arguments> dpt1 = Stream.of("1.001", "1.008", "1.009", "1.010", "1.019", "1.022")
+                .flatMap(dpt -> Stream.of(Arguments.of(dpt, new byte[] { 0 }, OnOffType.class),
+                        Arguments.of(dpt, new byte[] { 1 }, OnOffType.class)));
+        Stream<Arguments> dpt232 = rgbValueProvider().flatMap(value -> Stream
+                .of(Arguments.of("232.600", value, HSBType.class), Arguments.of("232.60000", value, HSBType.class)));
+        // all combinations of the valid bits for xy and brightness
+        Stream<Arguments> dpt242 = IntStream.range(0, 4).boxed().flatMap(valid -> xyYValueProvider().map(value -> {
+            byte[] data = value.clone();
+            data[5] = valid.byteValue();
+            return Arguments.of("242.600", data, HSBType.class);
+        }));
+        // r,g,b valid, with and without w valid
+        Stream<Arguments> dpt251 = IntStream.range(0, 2 * 256).mapToObj(i -> Arguments.of("251.600",
+                new byte[] { (byte) i, (byte) (255 - i), (byte) (i / 2), (byte) (i / 3), 0, (byte) (0x0e | i / 256) },
+                HSBType.class));
+        return Stream.of(dpt1, dpt232, dpt242, dpt251).flatMap(arguments -> arguments);
+    }
+
+    @ParameterizedTest
+    @MethodSource("directDecodingProvider")
+    public void directDecodingMatchesTranslator(String dpt, byte[] value, Class<? extends Type> preferredType) {
+        assertEquals(ValueDecoder.decode(dpt, value, preferredType, false),
+                ValueDecoder.decode(dpt, value, preferredType, true));
+    }
 }
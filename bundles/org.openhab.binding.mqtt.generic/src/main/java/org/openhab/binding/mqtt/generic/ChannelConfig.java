@@ -42,6 +42,8 @@ public class ChannelConfig {
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
+    /** If true, a received payload identical to the previous one does not update the channel again. */
+    public boolean skipUnchangedPayloads = false;
     public String unit = "";
 
     public String transformationPattern = "";
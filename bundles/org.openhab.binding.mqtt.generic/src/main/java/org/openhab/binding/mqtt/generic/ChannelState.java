@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +64,9 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    // The last payload parsed without decoding it and the resulting state, to skip parsing identical payloads
+    private byte @Nullable [] lastRawPayload;
+    private @Nullable State lastRawState;
 
     /**
      * Creates a new channel state.
@@ -170,6 +174,30 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Plain payload without transformations: Parse the bytes directly
+        if (transformationsIn.isEmpty() && !config.trigger) {
+            final State lastRawState = this.lastRawState;
+            if (lastRawState != null && lastRawState == cachedValue.getChannelState()
+                    && Arrays.equals(payload, lastRawPayload)) {
+                // The same payload results in the same state again
+                if (!config.skipUnchangedPayloads) {
+                    publishChannelState(channelStateUpdateListener);
+                }
+                receivedOrTimeout();
+                return;
+            }
+            Command command = cachedValue.parseRawMessage(payload);
+            if (command != null) {
+                if (processCommand(channelStateUpdateListener, command)) {
+                    this.lastRawPayload = payload;
+                    this.lastRawState = cachedValue.getChannelState();
+                }
+                receivedOrTimeout();
+                return;
+            }
+        }
+        this.lastRawState = null;
+
         // String value: Apply transformations
         String strValue = new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
@@ -198,31 +226,41 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        processCommand(channelStateUpdateListener, command);
+        receivedOrTimeout();
+    }
+
+    /**
+     * Maps the command parsed from a message, updates the cached value and posts the command to the framework.
+     *
+     * @return true if the cached value got updated
+     */
+    private boolean processCommand(ChannelStateUpdateListener channelStateUpdateListener, Command command) {
         Command parsedCommand;
-        // Map the string to a command, update the cached value and post the command to the framework
         try {
             parsedCommand = cachedValue.parseMessage(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", strValue, channelUID,
+            logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", command, channelUID,
                     cachedValue.getClass().getSimpleName(), e.getMessage());
-            receivedOrTimeout();
-            return;
+            return false;
         }
 
         // things that are only Commands _must_ be posted as a command (like STOP)
         if (!(parsedCommand instanceof State)) {
             channelStateUpdateListener.postChannelCommand(channelUID, parsedCommand);
-            receivedOrTimeout();
-            return;
+            return false;
         }
         cachedValue.update((State) parsedCommand);
+        publishChannelState(channelStateUpdateListener);
+        return true;
+    }
 
+    private void publishChannelState(ChannelStateUpdateListener channelStateUpdateListener) {
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
         } else {
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
         }
-        receivedOrTimeout();
     }
 
     /**
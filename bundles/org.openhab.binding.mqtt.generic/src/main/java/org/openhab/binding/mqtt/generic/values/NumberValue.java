@@ -112,6 +112,13 @@ public class NumberValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parseRawMessage(byte[] payload) {
+        BigDecimal value = parsePlainDecimal(payload);
+        // a plain number is parsed as a dimensionless quantity otherwise, which results in the same value
+        return value == null ? null : new DecimalType(value);
+    }
+
     private BigDecimal getOldValue() {
         BigDecimal val = BigDecimal.ZERO;
         if (state instanceof DecimalType decimalCommand) {
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URLConnection;
 import java.util.List;
 
@@ -51,6 +52,8 @@ import org.openhab.core.types.UnDefType;
  */
 @NonNullByDefault
 public abstract class Value {
+    private static final int MAX_PLAIN_DECIMAL_DIGITS = 18;
+
     protected State state = UnDefType.UNDEF;
     protected final List<Class<? extends Command>> commandTypes;
     private final String itemType;
@@ -149,6 +152,55 @@ public abstract class Value {
         return parseCommand(command);
     }
 
+    /**
+     * Parses a payload received from MQTT directly into a command, without decoding it into a string and trying all
+     * supported command types. This is an optional fast path for plain payloads like numbers. The returned command
+     * has to be handled by {@link #parseMessage(Command)} exactly like the command parsed from the payload string.
+     *
+     * @param payload The payload to parse.
+     * @return The command, or null if the payload has to be parsed as a string.
+     */
+    public @Nullable Command parseRawMessage(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Parses a payload consisting of an optional minus sign and digits, optionally followed by a decimal point and
+     * further digits, without creating intermediate objects.
+     *
+     * @param payload The payload to parse.
+     * @return The number, or null if the payload is not such a plain number.
+     */
+    protected static @Nullable BigDecimal parsePlainDecimal(byte[] payload) {
+        int length = payload.length;
+        int start = length > 0 && payload[0] == '-' ? 1 : 0;
+        // more digits may not fit into a long
+        if (length == start || length - start > MAX_PLAIN_DECIMAL_DIGITS + 1) {
+            return null;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0 && digits > 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits > MAX_PLAIN_DECIMAL_DIGITS || scale == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(start == 1 ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
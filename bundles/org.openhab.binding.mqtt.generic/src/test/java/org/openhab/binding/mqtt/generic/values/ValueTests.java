@@ -345,4 +345,44 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.parseCommand(new DecimalType(9.0)));
     }
+
+    @Test
+    public void parsePlainDecimal() {
+        assertEquals(new BigDecimal("15"), Value.parsePlainDecimal("15".getBytes()));
+        assertEquals(new BigDecimal("-63.70"), Value.parsePlainDecimal("-63.70".getBytes()));
+        assertEquals(new BigDecimal("123456789012345678"), Value.parsePlainDecimal("123456789012345678".getBytes()));
+
+        assertNull(Value.parsePlainDecimal("".getBytes()));
+        assertNull(Value.parsePlainDecimal("-".getBytes()));
+        assertNull(Value.parsePlainDecimal("1.".getBytes()));
+        assertNull(Value.parsePlainDecimal(".5".getBytes()));
+        assertNull(Value.parsePlainDecimal("1.2.3".getBytes()));
+        assertNull(Value.parsePlainDecimal("1e3".getBytes()));
+        assertNull(Value.parsePlainDecimal("+1".getBytes()));
+        assertNull(Value.parsePlainDecimal(" 1".getBytes()));
+        assertNull(Value.parsePlainDecimal("15 W".getBytes()));
+        assertNull(Value.parsePlainDecimal("1234567890123456789".getBytes()));
+    }
+
+    @Test
+    public void parseRawMessageMatchesStringParsing() {
+        NumberValue number = new NumberValue(null, null, null, Units.WATT);
+        for (String payload : new String[] { "15", "-0.5", "007" }) {
+            assertEquals(number.parseCommand(p(number, payload)),
+                    number.parseCommand(Objects.requireNonNull(number.parseRawMessage(payload.getBytes()))));
+        }
+        assertNull(number.parseRawMessage("15 W".getBytes()));
+
+        PercentageValue percent = new PercentageValue(new BigDecimal(-100), new BigDecimal(100), null, null, null);
+        assertEquals(percent.parseCommand(p(percent, "50")),
+                percent.parseCommand(Objects.requireNonNull(percent.parseRawMessage("50".getBytes()))));
+
+        OnOffValue onOff = new OnOffValue("fancyON", "fancyOff");
+        assertEquals(OnOffType.ON, onOff.parseRawMessage("ON".getBytes()));
+        assertEquals(OnOffType.ON, onOff.parseRawMessage("fancyON".getBytes()));
+        assertEquals(OnOffType.OFF, onOff.parseRawMessage("fancyOff".getBytes()));
+        assertNull(onOff.parseRawMessage("1".getBytes()));
+
+        assertNull(new TextValue().parseRawMessage("15".getBytes()));
+    }
 }
@@ -68,6 +68,18 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Called for a received configuration before the component is created from it.
+         *
+         * @param homeAssistantTopicID The location of the component
+         * @param configJSON The configuration of the component
+         * @return true if a component with exactly this configuration is known already and does not have to be
+         *         created again
+         */
+        default boolean isComponentKnown(HaID homeAssistantTopicID, String configJSON) {
+            return false;
+        }
     }
 
     /**
@@ -99,6 +111,12 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
+            ComponentDiscovered discoveredListener = this.discoveredListener;
+            if (discoveredListener != null && discoveredListener.isComponentKnown(haID, config)) {
+                // Skip parsing the configuration and creating the channels again, e.g. after a reconnect
+                logger.trace("Unchanged HomeAssistant thing {} component {}", haID.objectID, haID.component);
+                return;
+            }
             try {
                 component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler,
                         gson, transformationServiceProvider);
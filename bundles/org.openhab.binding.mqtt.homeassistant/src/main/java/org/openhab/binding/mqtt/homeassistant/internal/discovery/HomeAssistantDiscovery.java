@@ -70,6 +70,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    // The last parsed configuration per config topic, so an unchanged retained configuration is not parsed again
+    protected final Map<String, ParsedConfiguration> configPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -90,6 +92,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
     static final String BASE_TOPIC = "homeassistant";
 
+    protected record ParsedConfiguration(String configJSON, AbstractChannelConfiguration config) {
+    }
+
     @NonNullByDefault({})
     protected MqttChannelTypeProvider typeProvider;
 
@@ -184,8 +189,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         HaID haID = new HaID(topic);
 
         try {
-            AbstractChannelConfiguration config = AbstractChannelConfiguration
-                    .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+            AbstractChannelConfiguration config = parseConfiguration(topic,
+                    new String(payload, StandardCharsets.UTF_8));
 
             final String thingID = config.getThingId(haID.objectID);
 
@@ -237,6 +242,22 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
     }
 
+    /**
+     * Parse the configuration of a component, unless it is unchanged since it was received last time on this topic.
+     *
+     * @param topic the config topic
+     * @param configJSON the configuration
+     * @return the parsed configuration
+     */
+    private AbstractChannelConfiguration parseConfiguration(String topic, String configJSON) {
+        ParsedConfiguration parsed = configPerTopic.get(topic);
+        if (parsed == null || !parsed.configJSON().equals(configJSON)) {
+            parsed = new ParsedConfiguration(configJSON, AbstractChannelConfiguration.fromString(configJSON, gson));
+            configPerTopic.put(topic, parsed);
+        }
+        return parsed.config();
+    }
+
     protected void publishResults() {
         Collection<DiscoveryResult> localResults;
 
@@ -257,6 +278,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPerTopic.remove(topic);
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             if (thingUID != null) {
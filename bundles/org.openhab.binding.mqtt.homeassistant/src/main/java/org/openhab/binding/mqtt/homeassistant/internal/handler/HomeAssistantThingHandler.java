@@ -13,14 +13,17 @@
 package org.openhab.binding.mqtt.homeassistant.internal.handler;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -42,6 +45,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.component.AbstractCompone
 import org.openhab.binding.mqtt.homeassistant.internal.component.ComponentFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.config.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -82,6 +86,9 @@ import com.google.gson.GsonBuilder;
 public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         implements ComponentDiscovered, Consumer<List<AbstractComponent<?>>> {
     public static final String AVAILABILITY_CHANNEL = "availability";
+    // initialize() itself may run on the thing handler pool, so the components are restored on a bounded pool of
+    // their own, which is shared by all things
+    private static final String RESTORE_THREADPOOL_NAME = "mqtt-homeassistant-restore";
     private static final Comparator<Channel> CHANNEL_COMPARATOR_BY_UID = Comparator
             .comparing(channel -> channel.getUID().toString());;
 
@@ -135,6 +142,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         }
         discoveryHomeAssistantIDs.addAll(HaID.fromConfig(config));
 
+        Map<String, Channel> channelsToRestore = new LinkedHashMap<>();
         for (Channel channel : thing.getChannels()) {
             final String groupID = channel.getUID().getGroupId();
             if (groupID == null) {
@@ -149,27 +157,50 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 component.addChannelTypes(channelTypeProvider);
                 continue;
             }
+            // the first channel of a component is sufficient to restore it
+            channelsToRestore.putIfAbsent(groupID, channel);
+        }
+        restoreComponents(channelsToRestore.values());
+        updateThingType();
 
+        super.initialize();
+    }
+
+    /**
+     * Restore the components from the configuration of their channels. The components are created in parallel, because
+     * parsing the configuration of things with many components takes a while.
+     */
+    private void restoreComponents(Collection<Channel> channels) {
+        ExecutorService restorePool = ThreadPoolManager.getPool(RESTORE_THREADPOOL_NAME);
+        List<CompletableFuture<@Nullable AbstractComponent<?>>> restoredComponents = new ArrayList<>();
+        for (Channel channel : channels) {
             HaID haID = HaID.fromConfig(config.basetopic, channel.getConfiguration());
             discoveryHomeAssistantIDs.add(haID);
-            ThingUID thingUID = channel.getUID().getThingUID();
-            String channelConfigurationJSON = (String) channel.getConfiguration().get("config");
-            if (channelConfigurationJSON == null) {
-                logger.warn("Provided channel does not have a 'config' configuration key!");
-            } else {
-                try {
-                    component = ComponentFactory.createComponent(thingUID, haID, channelConfigurationJSON, this, this,
-                            scheduler, gson, transformationServiceProvider);
-                    haComponents.put(component.getGroupUID().getId(), component);
-                    component.addChannelTypes(channelTypeProvider);
-                } catch (ConfigurationException e) {
-                    logger.error("Cannot not restore component {}: {}", thing, e.getMessage());
-                }
+            restoredComponents.add(CompletableFuture.supplyAsync(() -> restoreComponent(channel, haID), restorePool));
+        }
+        for (CompletableFuture<@Nullable AbstractComponent<?>> restoredComponent : restoredComponents) {
+            AbstractComponent<?> component = restoredComponent.join();
+            if (component != null) {
+                haComponents.put(component.getGroupUID().getId(), component);
+                component.addChannelTypes(channelTypeProvider);
             }
         }
-        updateThingType();
+    }
 
-        super.initialize();
+    private @Nullable AbstractComponent<?> restoreComponent(Channel channel, HaID haID) {
+        String channelConfigurationJSON = (String) channel.getConfiguration().get("config");
+        if (channelConfigurationJSON == null) {
+            logger.warn("Provided channel does not have a 'config' configuration key!");
+            return null;
+        }
+        ThingUID thingUID = channel.getUID().getThingUID();
+        try {
+            return ComponentFactory.createComponent(thingUID, haID, channelConfigurationJSON, this, this, scheduler,
+                    gson, transformationServiceProvider);
+        } catch (ConfigurationException e) {
+            logger.error("Cannot not restore component {}: {}", thing, e.getMessage());
+            return null;
+        }
     }
 
     @Override
@@ -253,6 +284,24 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         delayedProcessing.accept(component);
     }
 
+    /**
+     * Callback of {@link DiscoverComponents}. A known component with an unchanged configuration is only marked as seen.
+     */
+    @Override
+    public boolean isComponentKnown(HaID homeAssistantTopicID, String configJSON) {
+        int configHash = configJSON.hashCode();
+        synchronized (haComponents) { // sync whenever discoverComponents is started
+            for (AbstractComponent<?> known : haComponents.values()) {
+                if (known.getConfigHash() == configHash && known.getHaID().equals(homeAssistantTopicID)
+                        && known.getChannelConfigurationJson().equals(configJSON)) {
+                    known.setConfigSeen();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Callback of {@link DelayedBatchProcessing}.
      * Add all newly discovered components to the Thing and start the components.
@@ -93,6 +93,28 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
                 "climate/0x847127fffe11dd6a_climate_zigbee2mqtt", "switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt"));
     }
 
+    @Test
+    public void testUnchangedConfigurationIsNotParsedAgain() {
+        var topic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        var parsed = discovery.configPerTopic.get(topic);
+        assertThat(parsed, is(notNullValue()));
+
+        // When the same configuration is received again, e.g. after a reconnect
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        assertThat(discovery.configPerTopic.get(topic), is(sameInstance(parsed)));
+
+        // When the configuration changes
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        assertThat(discovery.configPerTopic.get(topic), is(not(sameInstance(parsed))));
+
+        discovery.topicVanished(HA_UID, bridgeConnection, topic);
+        assertThat(discovery.configPerTopic.containsKey(topic), is(false));
+    }
+
     private static class TestHomeAssistantDiscovery extends HomeAssistantDiscovery {
         public TestHomeAssistantDiscovery(MqttChannelTypeProvider typeProvider) {
             this.typeProvider = typeProvider;
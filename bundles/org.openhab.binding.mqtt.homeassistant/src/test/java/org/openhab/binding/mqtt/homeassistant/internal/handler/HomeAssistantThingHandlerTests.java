@@ -285,4 +285,55 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         thingHandler.delayedProcessing.forceProcessNow();
         assertThat(haThing.getChannels().size(), CoreMatchers.is(0));
     }
+
+    @Test
+    public void testUnchangedComponentIsNotCreatedAgain() {
+        thingHandler.initialize();
+
+        var configTopic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(1));
+        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopic)), any(Switch.class));
+
+        // When the retained configuration is received again, e.g. after a reconnect
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+
+        // Then the known component is kept
+        verify(thingHandler, times(1)).componentDiscovered(any(), any());
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(1));
+    }
+
+    @Test
+    public void testComponentsAreRestoredInParallel() {
+        thingHandler.initialize();
+        thingHandler.discoverComponents.processMessage(
+                "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config",
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.discoverComponents.processMessage(
+                "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config",
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(thingHandler.getThing().getChannels().size(), CoreMatchers.is(7));
+        thingHandler.dispose();
+
+        // When the thing is initialized again with its channels, e.g. after a restart
+        HomeAssistantThingHandler restoringHandler = new HomeAssistantThingHandler(thingHandler.getThing(),
+                channelTypeProvider, transformationServiceProvider, SUBSCRIBE_TIMEOUT, ATTRIBUTE_RECEIVE_TIMEOUT);
+        restoringHandler.setConnection(bridgeConnection);
+        restoringHandler.setCallback(callbackMock);
+        restoringHandler.initialize();
+
+        // Then both components are restored from the configuration of their channels before initialize() returns
+        assertThat(restoringHandler.haComponents.size(), CoreMatchers.is(2));
+        assertThat(restoringHandler.haComponents.values().stream().anyMatch(Climate.class::isInstance),
+                CoreMatchers.is(true));
+        assertThat(restoringHandler.haComponents.values().stream().anyMatch(Switch.class::isInstance),
+                CoreMatchers.is(true));
+        assertThat(restoringHandler.getThing().getChannels().size(), CoreMatchers.is(7));
+        restoringHandler.dispose();
+    }
 }
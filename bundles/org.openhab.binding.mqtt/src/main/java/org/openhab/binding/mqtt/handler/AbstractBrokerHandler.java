@@ -12,8 +12,10 @@
  */
 package org.openhab.binding.mqtt.handler;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -22,11 +24,12 @@ import java.util.concurrent.TimeoutException;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryParticipant;
-import org.openhab.binding.mqtt.discovery.TopicSubscribe;
+import org.openhab.binding.mqtt.internal.MqttTopicTrie;
 import org.openhab.binding.mqtt.internal.action.MQTTActions;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttConnectionObserver;
 import org.openhab.core.io.transport.mqtt.MqttConnectionState;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -50,7 +53,19 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
-    private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
+    /**
+     * The registered discovery topics and their participants, used to dispatch received messages
+     */
+    private final MqttTopicTrie<MQTTTopicDiscoveryParticipant> discoveryTopics = new MqttTopicTrie<>();
+    /**
+     * The discovery topics subscribed at the broker. A registered topic covered by another registered topic shares
+     * its subscription, so overlapping wildcard topics are only subscribed once.
+     */
+    private final Map<String, DiscoverySubscription> discoverySubscriptions = new HashMap<>();
+    /**
+     * Maps every registered discovery topic to the subscribed topic its messages are received on
+     */
+    private Map<String, String> subscribedTopicByDiscoveryTopic = Map.of();
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
@@ -116,28 +131,10 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         });
         connectionFuture.complete(connection);
 
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
-                if (oldTopicSubscribe.isStarted()) {
-                    oldTopicSubscribe.stop();
-                }
-
-                TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-                if (discoveryEnabled()) {
-                    topicSubscribe.start().handle((result, ex) -> {
-                        if (ex != null) {
-                            logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        } else {
-                            logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
-                }
-                return topicSubscribe;
-            });
-        });
+        synchronized (discoveryTopics) {
+            stopDiscoverySubscriptions();
+            updateDiscoverySubscriptions();
+        }
     }
 
     @Override
@@ -169,11 +166,9 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         channelStateByChannelUID.clear();
 
         // keep topics, but stop subscriptions
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.forEach((listener, topicSubscribe) -> {
-                topicSubscribe.stop();
-            });
-        });
+        synchronized (discoveryTopics) {
+            stopDiscoverySubscriptions();
+        }
 
         if (connection != null) {
             connection.removeConnectionObserver(this);
@@ -193,30 +188,15 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @param topic the topic (wildcards supported)
      */
     public final void registerDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics
-                .computeIfAbsent(topic, t -> new HashMap<>());
-        topicListeners.compute(listener, (k, v) -> {
-            if (v != null) {
+        synchronized (discoveryTopics) {
+            if (!discoveryTopics.put(topic, listener)) {
                 logger.warn("Duplicate subscription for {} to discovery topic {} on broker {}. Check discovery logic!",
                         listener, topic, thing.getUID());
-                v.stop();
+                return;
             }
-
-            TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-            if (discoveryEnabled()) {
-                topicSubscribe.start().handle((result, ex) -> {
-                    if (ex != null) {
-                        logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    } else {
-                        logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    }
-                    return null;
-                });
-            }
-            return topicSubscribe;
-        });
+            logger.trace("Registered {} for discovery topic {} on broker {}", listener, topic, thing.getUID());
+            updateDiscoverySubscriptions();
+        }
     }
 
     /**
@@ -226,27 +206,117 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @param topic the topic (as specified during registration)
      */
     public final void unregisterDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        discoveryTopics.compute(topic, (k, v) -> {
-            if (v == null) {
+        synchronized (discoveryTopics) {
+            if (!discoveryTopics.remove(topic, listener)) {
                 logger.warn(
-                        "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered at all. Check discovery logic!",
+                        "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
                         listener, topic, thing.getUID());
-                return null;
+                return;
+            }
+            logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic, thing.getUID());
+            updateDiscoverySubscriptions();
+        }
+    }
+
+    /**
+     * Subscribes the registered discovery topics not covered by another registered topic and unsubscribes topics no
+     * longer needed. Must be called while holding the lock of {@link #discoveryTopics}.
+     */
+    private void updateDiscoverySubscriptions() {
+        List<String> topics = discoveryTopics.getFilters();
+        List<String> subscribedTopics = topics.stream().filter(topic -> topics.stream()
+                .noneMatch(other -> !other.equals(topic) && MqttTopicTrie.covers(other, topic))).toList();
+        Map<String, String> subscribedTopicByTopic = new HashMap<>();
+        for (String topic : topics) {
+            subscribedTopics.stream().filter(subscribedTopic -> MqttTopicTrie.covers(subscribedTopic, topic))
+                    .findFirst().ifPresent(subscribedTopic -> subscribedTopicByTopic.put(topic, subscribedTopic));
+        }
+        subscribedTopicByDiscoveryTopic = Map.copyOf(subscribedTopicByTopic);
+
+        discoverySubscriptions.values().removeIf(subscription -> {
+            if (subscribedTopics.contains(subscription.topic)) {
+                return false;
+            }
+            subscription.stop();
+            return true;
+        });
+
+        final MqttBrokerConnection connection = this.connection;
+        if (connection == null || !discoveryEnabled()) {
+            return;
+        }
+        for (String topic : subscribedTopics) {
+            if (!discoverySubscriptions.containsKey(topic)) {
+                DiscoverySubscription subscription = new DiscoverySubscription(connection, topic);
+                discoverySubscriptions.put(topic, subscription);
+                subscription.start();
             }
-            v.compute(listener, (l, w) -> {
-                if (w == null) {
-                    logger.warn(
-                            "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
-                            listener, topic, thing.getUID());
+        }
+    }
+
+    /**
+     * Must be called while holding the lock of {@link #discoveryTopics}.
+     */
+    private void stopDiscoverySubscriptions() {
+        discoverySubscriptions.values().forEach(DiscoverySubscription::stop);
+        discoverySubscriptions.clear();
+    }
+
+    /**
+     * Dispatches a message received on a subscribed discovery topic to the participants of all registered topics
+     * matching the message topic and sharing this subscription.
+     */
+    private void dispatchDiscoveryMessage(MqttBrokerConnection connection, String subscribedTopic, String topic,
+            byte[] payload) {
+        List<MQTTTopicDiscoveryParticipant> listeners = new ArrayList<>();
+        synchronized (discoveryTopics) {
+            discoveryTopics.forEachMatch(topic, (discoveryTopic, listener) -> {
+                if (subscribedTopic.equals(subscribedTopicByDiscoveryTopic.get(discoveryTopic))) {
+                    listeners.add(listener);
+                }
+            });
+        }
+        // notify without holding the lock, participants may register further topics
+        for (MQTTTopicDiscoveryParticipant listener : listeners) {
+            if (payload.length > 0) {
+                listener.receivedMessage(thing.getUID(), connection, topic, payload);
+            } else {
+                listener.topicVanished(thing.getUID(), connection, topic);
+            }
+        }
+    }
+
+    /**
+     * A discovery topic subscribed at the broker.
+     */
+    private class DiscoverySubscription implements MqttMessageSubscriber {
+        private final MqttBrokerConnection connection;
+        private final String topic;
+
+        DiscoverySubscription(MqttBrokerConnection connection, String topic) {
+            this.connection = connection;
+            this.topic = topic;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            dispatchDiscoveryMessage(connection, this.topic, topic, payload);
+        }
+
+        void start() {
+            connection.subscribe(topic, this).handle((result, ex) -> {
+                if (ex != null) {
+                    logger.warn("Failed to subscribe to discovery topic {} on broker {}", topic, thing.getUID());
                 } else {
-                    w.stop();
-                    logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic,
-                            thing.getUID());
+                    logger.trace("Subscribed to discovery topic {} on broker {}", topic, thing.getUID());
                 }
                 return null;
             });
-            return v.isEmpty() ? null : v;
-        });
+        }
+
+        void stop() {
+            connection.unsubscribe(topic, this);
+        }
     }
 
     /**
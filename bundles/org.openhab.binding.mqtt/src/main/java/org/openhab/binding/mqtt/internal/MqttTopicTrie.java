@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Stores values for MQTT topic filters and finds the values of all filters matching a topic. A topic is matched level
+ * by level, so the effort depends on the depth of the topic and not on the number of stored filters.
+ *
+ * The single level wildcard {@value #SINGLE_LEVEL_WILDCARD} and the multi level wildcard
+ * {@value #MULTI_LEVEL_WILDCARD} are supported as specified by MQTT. Wildcards in the first level do not match topics
+ * starting with '$'.
+ *
+ * This class is not thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicTrie<T> {
+    public static final String SINGLE_LEVEL_WILDCARD = "+";
+    public static final String MULTI_LEVEL_WILDCARD = "#";
+    private static final String LEVEL_SEPARATOR = "/";
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final Set<T> values = new LinkedHashSet<>();
+        private @Nullable String filter;
+
+        private boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+    private final Set<String> filters = new TreeSet<>();
+
+    /**
+     * Adds a value for a topic filter.
+     *
+     * @param filter the topic filter, wildcards supported
+     * @param value the value
+     * @return true if the value was added, false if it was already stored for this filter
+     */
+    public boolean put(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split(LEVEL_SEPARATOR, -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        node.filter = filter;
+        filters.add(filter);
+        return node.values.add(value);
+    }
+
+    /**
+     * Removes a value of a topic filter.
+     *
+     * @param filter the topic filter as specified when adding the value
+     * @param value the value
+     * @return true if the value was removed, false if it was not stored for this filter
+     */
+    public boolean remove(String filter, T value) {
+        return remove(root, filter, filter.split(LEVEL_SEPARATOR, -1), 0, value);
+    }
+
+    private boolean remove(Node<T> node, String filter, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            boolean removed = node.values.remove(value);
+            if (node.values.isEmpty()) {
+                node.filter = null;
+                filters.remove(filter);
+            }
+            return removed;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null) {
+            return false;
+        }
+        boolean removed = remove(child, filter, levels, index + 1, value);
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the values stored for exactly this topic filter.
+     *
+     * @param filter the topic filter
+     * @return the values, empty if there are none
+     */
+    public Set<T> get(String filter) {
+        Node<T> node = root;
+        for (String level : filter.split(LEVEL_SEPARATOR, -1)) {
+            Node<T> child = node.children.get(level);
+            if (child == null) {
+                return Set.of();
+            }
+            node = child;
+        }
+        return Set.copyOf(node.values);
+    }
+
+    /**
+     * Returns all topic filters with values in their natural order.
+     */
+    public List<String> getFilters() {
+        return List.copyOf(filters);
+    }
+
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
+    /**
+     * Passes the values of all filters matching the topic to the consumer. A value stored for several matching
+     * filters is passed once per filter.
+     *
+     * @param topic the topic of a message, without wildcards
+     * @param consumer accepts the matching filter and the value
+     */
+    public void forEachMatch(String topic, BiConsumer<String, T> consumer) {
+        forEachMatch(root, topic.split(LEVEL_SEPARATOR, -1), 0, topic.startsWith("$"), consumer);
+    }
+
+    private void forEachMatch(Node<T> node, String[] levels, int index, boolean systemTopic,
+            BiConsumer<String, T> consumer) {
+        boolean wildcardsAllowed = index > 0 || !systemTopic;
+        // the multi level wildcard also matches the parent level
+        Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+        if (multiLevel != null && wildcardsAllowed) {
+            accept(multiLevel, consumer);
+        }
+        if (index == levels.length) {
+            accept(node, consumer);
+            return;
+        }
+        Node<T> exact = node.children.get(levels[index]);
+        if (exact != null) {
+            forEachMatch(exact, levels, index + 1, systemTopic, consumer);
+        }
+        Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+        if (singleLevel != null && wildcardsAllowed) {
+            forEachMatch(singleLevel, levels, index + 1, systemTopic, consumer);
+        }
+    }
+
+    private void accept(Node<T> node, BiConsumer<String, T> consumer) {
+        String filter = node.filter;
+        if (filter != null) {
+            node.values.forEach(value -> consumer.accept(filter, value));
+        }
+    }
+
+    /**
+     * Checks if a topic filter matches every topic another filter matches.
+     *
+     * @param filter the potentially broader filter
+     * @param other the other filter
+     * @return true if all topics matching other also match filter
+     */
+    public static boolean covers(String filter, String other) {
+        String[] levels = filter.split(LEVEL_SEPARATOR, -1);
+        String[] otherLevels = other.split(LEVEL_SEPARATOR, -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            boolean wildcard = MULTI_LEVEL_WILDCARD.equals(level) || SINGLE_LEVEL_WILDCARD.equals(level);
+            if (wildcard && i == 0 && otherLevels[0].startsWith("$")) {
+                return false;
+            }
+            if (MULTI_LEVEL_WILDCARD.equals(level)) {
+                return true;
+            }
+            if (i >= otherLevels.length) {
+                return false;
+            }
+            if (SINGLE_LEVEL_WILDCARD.equals(level)) {
+                if (MULTI_LEVEL_WILDCARD.equals(otherLevels[i])) {
+                    return false;
+                }
+            } else if (!level.equals(otherLevels[i])) {
+                return false;
+            }
+        }
+        return levels.length == otherLevels.length;
+    }
+}
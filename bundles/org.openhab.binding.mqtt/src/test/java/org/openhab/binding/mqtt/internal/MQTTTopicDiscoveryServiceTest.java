@@ -13,7 +13,9 @@
 package org.openhab.binding.mqtt.internal;
 
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -51,6 +53,7 @@ public class MQTTTopicDiscoveryServiceTest {
     private @Mock @NonNullByDefault({}) Bridge thingMock;
     private @Mock @NonNullByDefault({}) ThingHandlerCallback callbackMock;
     private @Mock @NonNullByDefault({}) MQTTTopicDiscoveryParticipant listenerMock;
+    private @Mock @NonNullByDefault({}) MQTTTopicDiscoveryParticipant otherListenerMock;
 
     private @NonNullByDefault({}) MqttBrokerConnectionEx connection;
     private @NonNullByDefault({}) BrokerHandler handler;
@@ -141,4 +144,34 @@ public class MQTTTopicDiscoveryServiceTest {
         connection.getSubscribers().get("topic").messageArrived("topic", bytes, false);
         verify(listenerMock).topicVanished(eq(thingMock.getUID()), eq(connection), eq("topic"));
     }
+
+    @Test
+    public void overlappingTopicsAreSubscribedOnce() {
+        handler.initialize();
+        BrokerHandlerEx.verifyCreateBrokerConnection(handler, 1);
+
+        subject.createdHandler(handler);
+        subject.subscribe(listenerMock, "homie/+/$homie");
+        subject.subscribe(otherListenerMock, "homie/#");
+        assertThat(connection.getSubscribers().containsKey("homie/#"), is(true));
+        verify(connection).unsubscribe(eq("homie/+/$homie"), any());
+
+        // Simulate receiving
+        final byte[] bytes = "TEST".getBytes();
+        connection.getSubscribers().get("homie/#").messageArrived("homie/device/$homie", bytes, false);
+        connection.getSubscribers().get("homie/#").messageArrived("homie/device/$name", bytes, false);
+        verify(listenerMock).receivedMessage(eq(thingMock.getUID()), eq(connection), eq("homie/device/$homie"),
+                eq(bytes));
+        verify(listenerMock, never()).receivedMessage(eq(thingMock.getUID()), eq(connection),
+                eq("homie/device/$name"), eq(bytes));
+        verify(otherListenerMock).receivedMessage(eq(thingMock.getUID()), eq(connection), eq("homie/device/$homie"),
+                eq(bytes));
+        verify(otherListenerMock).receivedMessage(eq(thingMock.getUID()), eq(connection), eq("homie/device/$name"),
+                eq(bytes));
+
+        // The covered topic needs its own subscription again
+        subject.unsubscribe(otherListenerMock);
+        verify(connection).unsubscribe(eq("homie/#"), any());
+        verify(connection, times(2)).subscribe(eq("homie/+/$homie"), any());
+    }
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link MqttTopicTrie}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicTrieTest {
+
+    private final MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+
+    private List<String> match(String topic) {
+        List<String> values = new ArrayList<>();
+        trie.forEachMatch(topic, (filter, value) -> values.add(value));
+        return values;
+    }
+
+    @Test
+    public void exactTopic() {
+        trie.put("homie/device/$homie", "exact");
+
+        assertThat(match("homie/device/$homie"), containsInAnyOrder("exact"));
+        assertThat(match("homie/device"), empty());
+        assertThat(match("homie/device/$homie/more"), empty());
+    }
+
+    @Test
+    public void singleLevelWildcard() {
+        trie.put("homeassistant/+/+/config", "ha");
+
+        assertThat(match("homeassistant/switch/lamp/config"), containsInAnyOrder("ha"));
+        assertThat(match("homeassistant/switch//config"), containsInAnyOrder("ha"));
+        assertThat(match("homeassistant/switch/config"), empty());
+        assertThat(match("homeassistant/switch/node/lamp/config"), empty());
+    }
+
+    @Test
+    public void multiLevelWildcard() {
+        trie.put("sport/#", "sport");
+        trie.put("#", "all");
+
+        assertThat(match("sport"), containsInAnyOrder("sport", "all"));
+        assertThat(match("sport/tennis/player1"), containsInAnyOrder("sport", "all"));
+        assertThat(match("weather"), containsInAnyOrder("all"));
+    }
+
+    @Test
+    public void wildcardsDoNotMatchSystemTopics() {
+        trie.put("#", "all");
+        trie.put("+/info", "info");
+        trie.put("$SYS/#", "system");
+
+        assertThat(match("$SYS/info"), containsInAnyOrder("system"));
+        assertThat(match("broker/info"), containsInAnyOrder("all", "info"));
+    }
+
+    @Test
+    public void overlappingFiltersMatchOncePerFilter() {
+        trie.put("homie/+/$homie", "homie");
+        trie.put("homie/#", "homie");
+        trie.put("homie/#", "other");
+        assertFalse(trie.put("homie/#", "other"));
+
+        assertThat(match("homie/device/$homie"), containsInAnyOrder("homie", "homie", "other"));
+    }
+
+    @Test
+    public void remove() {
+        trie.put("a/+/c", "first");
+        trie.put("a/+/c", "second");
+        trie.put("a/b/c", "third");
+
+        assertTrue(trie.remove("a/+/c", "first"));
+        assertFalse(trie.remove("a/+/c", "first"));
+        assertFalse(trie.remove("a/+", "second"));
+        assertThat(match("a/b/c"), containsInAnyOrder("second", "third"));
+        assertEquals(List.of("a/+/c", "a/b/c"), trie.getFilters());
+
+        trie.remove("a/+/c", "second");
+        trie.remove("a/b/c", "third");
+        assertThat(match("a/b/c"), empty());
+        assertTrue(trie.isEmpty());
+        assertTrue(trie.get("a/b/c").isEmpty());
+    }
+
+    @Test
+    public void covers() {
+        assertTrue(MqttTopicTrie.covers("homeassistant/#", "homeassistant/+/+/config"));
+        assertTrue(MqttTopicTrie.covers("homeassistant/#", "homeassistant"));
+        assertTrue(MqttTopicTrie.covers("homeassistant/+/+/config", "homeassistant/switch/+/config"));
+        assertTrue(MqttTopicTrie.covers("a/b", "a/b"));
+        assertTrue(MqttTopicTrie.covers("#", "a/#"));
+
+        assertFalse(MqttTopicTrie.covers("homeassistant/+/+/config", "homeassistant/#"));
+        assertFalse(MqttTopicTrie.covers("homeassistant/+/+/config", "homeassistant/+/+/+/config"));
+        assertFalse(MqttTopicTrie.covers("a/+/c", "a/b/+"));
+        assertFalse(MqttTopicTrie.covers("a/+", "a/#"));
+        assertFalse(MqttTopicTrie.covers("#", "$SYS/#"));
+    }
+}
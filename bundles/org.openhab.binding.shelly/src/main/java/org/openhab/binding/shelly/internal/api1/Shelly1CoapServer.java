@@ -12,11 +12,14 @@
  */
 package org.openhab.binding.shelly.internal.api1;
 
-import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_PORT;
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.*;
+import static org.openhab.binding.shelly.internal.util.ShellyUtils.substringBetween;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,6 +28,7 @@ import org.eclipse.californium.core.CoapServer;
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
@@ -37,7 +41,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link Shelly1CoapServer} implements the UDP listener and status event processor (for /cit/s messages)
+ * The {@link Shelly1CoapServer} implements the UDP listener and status event processor (for /cit/s messages).
+ * Received packets are dispatched to the listener of the sending device, which is looked up by its IP address or the
+ * MAC address included in the CoIoT Global Device ID.
  *
  * @author Markus Michels - Initial contribution
  */
@@ -50,6 +56,13 @@ public class Shelly1CoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);
     private final Set<Shelly1CoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    private final Map<String, Shelly1CoapListener> listenersByIp = new ConcurrentHashMap<>();
+    private final Map<String, Shelly1CoapListener> listenersByMac = new ConcurrentHashMap<>();
+    // listeners of devices with unknown MAC address, they receive all packets, which can't be dispatched otherwise
+    private final Set<Shelly1CoapListener> unidentifiedListeners = ConcurrentHashMap.newKeySet();
+
+    // Older firmware only includes the last 6 digits of the MAC address in the Global Device ID
+    private static final int MAC_KEY_LENGTH = 6;
 
     protected class ShellyStatusListener extends CoapResource {
         private Shelly1CoapServer listener;
@@ -77,8 +90,17 @@ public class Shelly1CoapServer {
         }
     }
 
-    public synchronized void start(String localIp, int port, Shelly1CoapListener listener)
-            throws UnknownHostException, SocketException {
+    /**
+     * Start the server (if not yet started) and register a listener for the packets of a device
+     *
+     * @param localIp IP address of the interface to listen on
+     * @param port CoIoT port
+     * @param deviceIp IP address of the device
+     * @param deviceMac MAC address of the device, empty if not yet known
+     * @param listener listener to process the packets of the device
+     */
+    public synchronized void start(String localIp, int port, String deviceIp, String deviceMac,
+            Shelly1CoapListener listener) throws UnknownHostException, SocketException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, port);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -96,13 +118,59 @@ public class Shelly1CoapServer {
             started = true;
         }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+        removeListener(listener);
+        coapListeners.add(listener);
+        if (!deviceIp.isEmpty()) {
+            listenersByIp.put(deviceIp, listener);
+        }
+        if (deviceMac.length() >= MAC_KEY_LENGTH) {
+            listenersByMac.put(macKey(deviceMac), listener);
+        } else {
+            unidentifiedListeners.add(listener);
         }
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        Shelly1CoapListener listener = findListener(response);
+        if (listener != null) {
+            listener.processResponse(response);
+        } else {
+            // The listeners of devices with unknown MAC address check the Global Device ID themselves
+            unidentifiedListeners.forEach(l -> l.processResponse(response));
+        }
+    }
+
+    private @Nullable Shelly1CoapListener findListener(Response response) {
+        InetSocketAddress peerAddress = response.getSourceContext().getPeerAddress();
+        InetAddress address = peerAddress.getAddress();
+        if (address != null) {
+            Shelly1CoapListener listener = listenersByIp.get(address.getHostAddress());
+            if (listener != null) {
+                return listener;
+            }
+        }
+        // We can't identify device by IP, so we need to check the CoAP header's Global Device ID
+        for (Option opt : response.getOptions().asSortedList()) {
+            if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                // Format: <device type>#<mac address>#<coap version>
+                String macid = substringBetween(opt.getStringValue(), "#", "#");
+                if (macid.length() >= MAC_KEY_LENGTH) {
+                    return listenersByMac.get(macKey(macid));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String macKey(String mac) {
+        return mac.substring(mac.length() - MAC_KEY_LENGTH).toUpperCase();
+    }
+
+    private void removeListener(Shelly1CoapListener listener) {
+        coapListeners.remove(listener);
+        listenersByIp.values().removeIf(l -> l == listener);
+        listenersByMac.values().removeIf(l -> l == listener);
+        unidentifiedListeners.remove(listener);
     }
 
     public static Response createResponse(Request request) {
@@ -124,7 +192,7 @@ public class Shelly1CoapServer {
      * Cancel pending requests and shutdown the client
      */
     public void stop(Shelly1CoapListener listener) {
-        coapListeners.remove(listener);
+        removeListener(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -136,6 +204,9 @@ public class Shelly1CoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenersByIp.clear();
+            listenersByMac.clear();
+            unidentifiedListeners.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
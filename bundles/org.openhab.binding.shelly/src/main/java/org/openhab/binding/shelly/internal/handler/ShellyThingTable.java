@@ -34,6 +34,8 @@ import org.osgi.service.component.annotations.Deactivate;
 @Component(service = ShellyThingTable.class, configurationPolicy = ConfigurationPolicy.OPTIONAL)
 public class ShellyThingTable {
     private Map<String, ShellyThingInterface> thingTable = new ConcurrentHashMap<>();
+    // things found by one of their representations (IP address, service name...), avoids searching the table again
+    private Map<String, ShellyThingInterface> representationCache = new ConcurrentHashMap<>();
     private @Nullable ShellyBluDiscoveryService bluDiscoveryService;
 
     public void addThing(String key, ShellyThingInterface thing) {
@@ -41,6 +43,7 @@ public class ShellyThingTable {
             thingTable.remove(key);
         }
         thingTable.put(key, thing);
+        representationCache.clear();
     }
 
     public @Nullable ShellyThingInterface findThing(String key) {
@@ -48,12 +51,19 @@ public class ShellyThingTable {
         if (t != null) {
             return t;
         }
+        // the representation of a thing changes when its configuration is updated
+        t = representationCache.get(key);
+        if (t != null && t.checkRepresentation(key)) {
+            return t;
+        }
         for (Map.Entry<String, ShellyThingInterface> entry : thingTable.entrySet()) {
             t = entry.getValue();
             if (t.checkRepresentation(key)) {
+                representationCache.put(key, t);
                 return t;
             }
         }
+        representationCache.remove(key);
         return null;
     }
 
@@ -69,6 +79,7 @@ public class ShellyThingTable {
         if (thingTable.containsKey(key)) {
             thingTable.remove(key);
         }
+        representationCache.clear();
     }
 
     public Map<String, ShellyThingInterface> getTable() {
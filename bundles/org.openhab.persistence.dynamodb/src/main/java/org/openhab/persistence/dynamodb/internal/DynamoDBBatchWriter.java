@@ -0,0 +1,370 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Buffers DTOs to be written and writes them using BatchWriteItem requests of up to 25 items, instead of one
+ * PutItem request per DTO.
+ *
+ * Buffered DTOs are flushed as soon as a full batch is available, or at the latest after the configured maximum
+ * latency. Unprocessed items and failed requests are retried with exponential backoff. The number of DTOs in the
+ * buffer (including requests in flight) is limited: when the buffer is full, {@link #reserve()} blocks the storing
+ * thread until space becomes available, but at most for {@link #RESERVE_TIMEOUT}.
+ *
+ * If the table does not exist yet, one DTO is written using {@link TableCreatingPutItem} to create it, and the rest of
+ * the batch is written afterwards.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+    static final int MAX_BATCH_SIZE = 25;
+    private static final long INITIAL_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    // the persistence manager stores the states of all items on the same thread
+    static final Duration RESERVE_TIMEOUT = Duration.ofSeconds(1);
+    private static final long FLUSH_POLL_MILLIS = 50;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final int bufferSize;
+    private final Duration maxLatency;
+    private final int maxRetries;
+
+    private final Semaphore capacity;
+    private final Queue<DynamoDBBigDecimalItem> bigDecimalItems = new ConcurrentLinkedQueue<>();
+    private final Queue<DynamoDBStringItem> stringItems = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong batchRequestCount = new AtomicLong();
+    private final AtomicLong putRequestCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service, ScheduledExecutorService scheduler, int bufferSize,
+            Duration maxLatency, int maxRetries) {
+        this.service = service;
+        this.executor = service.getExecutor();
+        this.scheduler = scheduler;
+        this.bufferSize = bufferSize;
+        this.maxLatency = maxLatency;
+        this.maxRetries = maxRetries;
+        this.capacity = new Semaphore(bufferSize);
+    }
+
+    public void start() {
+        long latencyMillis = Math.max(1, maxLatency.toMillis());
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, latencyMillis, latencyMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flushing, writes all buffered DTOs and waits for the writes to complete.
+     *
+     * @param timeout maximum time to wait for the writes
+     */
+    public void stop(Duration timeout) {
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+            flushJob = null;
+        }
+        if (!flushAndWait(timeout)) {
+            logger.warn("Not all buffered items were written within {} ms", timeout.toMillis());
+        }
+        logger.debug(
+                "Wrote {} items using {} BatchWriteItem and {} PutItem requests ({} retries, {} dropped, {} replaced)",
+                writtenCount.get(), batchRequestCount.get(), putRequestCount.get(), retryCount.get(),
+                droppedCount.get(), deduplicatedCount.get());
+    }
+
+    /**
+     * Reserves buffer space for one DTO, waiting for space to become available if the buffer is full.
+     *
+     * Must be followed by either {@link #add(DynamoDBItem)} or {@link #release()}.
+     *
+     * @return whether space was reserved
+     */
+    public boolean reserve() {
+        try {
+            if (capacity.tryAcquire(RESERVE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Releases buffer space reserved with {@link #reserve()} without adding a DTO.
+     */
+    public void release() {
+        capacity.release();
+    }
+
+    /**
+     * Adds a DTO to the buffer. Buffer space must have been reserved with {@link #reserve()} before.
+     *
+     * @param dto DTO to write
+     */
+    public void add(DynamoDBItem<?> dto) {
+        dto.accept(new DynamoDBItemVisitor<Boolean>() {
+
+            @Override
+            public Boolean visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                return bigDecimalItems.add(dynamoBigDecimalItem);
+            }
+
+            @Override
+            public Boolean visit(DynamoDBStringItem dynamoStringItem) {
+                return stringItems.add(dynamoStringItem);
+            }
+        });
+        if (bufferedCount.incrementAndGet() >= MAX_BATCH_SIZE && flushRequested.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes all buffered DTOs and waits until all writes in flight are completed, including the ones of DTOs which
+     * are only about to be added.
+     *
+     * @param timeout maximum time to wait for the writes
+     * @return whether all writes completed within the timeout
+     */
+    public boolean flushAndWait(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            do {
+                // flush repeatedly, as reserved DTOs are added to the buffer asynchronously
+                flush();
+                if (capacity.tryAcquire(bufferSize, FLUSH_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    capacity.release(bufferSize);
+                    return true;
+                }
+            } while (System.nanoTime() - deadline < 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Writes all buffered DTOs.
+     */
+    public void flush() {
+        flushRequested.set(false);
+        try {
+            flushQueue(DynamoDBBigDecimalItem.class, bigDecimalItems);
+            flushQueue(DynamoDBStringItem.class, stringItems);
+        } catch (RuntimeException e) {
+            logger.warn("Unexpected error when writing buffered items: {} {}", e.getClass().getSimpleName(),
+                    e.getMessage());
+        }
+    }
+
+    private <T extends DynamoDBItem<?>> void flushQueue(Class<T> dtoClass, Queue<T> queue) {
+        while (!queue.isEmpty()) {
+            List<T> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            T dto;
+            while (batch.size() < MAX_BATCH_SIZE && (dto = queue.poll()) != null) {
+                batch.add(dto);
+            }
+            bufferedCount.addAndGet(-batch.size());
+            if (!batch.isEmpty()) {
+                writeBatch(dtoClass, deduplicate(batch), 0);
+            }
+        }
+    }
+
+    /**
+     * BatchWriteItem rejects requests containing the same key twice. Keep the latest DTO per key, like consecutive
+     * PutItem requests would do.
+     */
+    private <T extends DynamoDBItem<?>> List<T> deduplicate(List<T> batch) {
+        Map<String, T> unique = new LinkedHashMap<>();
+        for (T dto : batch) {
+            unique.remove(key(dto));
+            unique.put(key(dto), dto);
+        }
+        int duplicates = batch.size() - unique.size();
+        if (duplicates > 0) {
+            // the replaced DTOs are not written, so they are not counted as written
+            deduplicatedCount.addAndGet(duplicates);
+            capacity.release(duplicates);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private static String key(DynamoDBItem<?> dto) {
+        return dto.getName() + "@" + dto.getTime().toInstant().toEpochMilli();
+    }
+
+    private <T extends DynamoDBItem<?>> void writeBatch(Class<T> dtoClass, List<T> batch, int attempt) {
+        DynamoDbEnhancedAsyncClient client = service.getClient();
+        final DynamoDbAsyncTable<T> table;
+        try {
+            table = service.getTable(dtoClass);
+        } catch (IllegalStateException e) {
+            dropped(batch, "client not ready");
+            return;
+        }
+        if (client == null) {
+            dropped(batch, "client not ready");
+            return;
+        }
+        WriteBatch.Builder<T> writeBatch = WriteBatch.builder(dtoClass).mappedTableResource(table);
+        batch.forEach(writeBatch::addPutItem);
+
+        batchRequestCount.incrementAndGet();
+        client.batchWriteItem(BatchWriteItemEnhancedRequest.builder().addWriteBatch(writeBatch.build()).build())
+                .whenCompleteAsync((result, exception) -> {
+                    if (exception == null) {
+                        List<T> unprocessed = result.unprocessedPutItemsForTable(table);
+                        completed(batch.size() - unprocessed.size());
+                        if (!unprocessed.isEmpty()) {
+                            retry(dtoClass, unprocessed, attempt, "unprocessed items");
+                        }
+                        return;
+                    }
+                    Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                            ? exception.getCause()
+                            : exception;
+                    if (cause instanceof ResourceNotFoundException) {
+                        logger.trace("BatchWriteItem: Table '{}' was not present. Creating it with the first item",
+                                table.tableName());
+                        createTableAndWrite(dtoClass, table, batch, attempt);
+                    } else {
+                        retry(dtoClass, batch, attempt,
+                                cause == null ? exception.getMessage() : cause.getClass().getSimpleName());
+                    }
+                }, executor);
+    }
+
+    private <T extends DynamoDBItem<?>> void createTableAndWrite(Class<T> dtoClass, DynamoDbAsyncTable<T> table,
+            List<T> batch, int attempt) {
+        List<T> remaining = new ArrayList<>(batch.subList(1, batch.size()));
+        final TableCreatingPutItem<T> putItem;
+        try {
+            putItem = new TableCreatingPutItem<T>(service, batch.get(0), table);
+        } catch (IllegalStateException e) {
+            dropped(batch, "service not ready");
+            return;
+        }
+        putRequestCount.incrementAndGet();
+        putItem.putItemAsync().whenCompleteAsync((result, exception) -> {
+            if (exception == null) {
+                completed(1);
+                if (!remaining.isEmpty()) {
+                    writeBatch(dtoClass, remaining, attempt);
+                }
+            } else {
+                dropped(batch, "table creation failed");
+            }
+        }, executor);
+    }
+
+    private <T extends DynamoDBItem<?>> void retry(Class<T> dtoClass, List<T> batch, int attempt,
+            @Nullable String reason) {
+        if (attempt >= maxRetries) {
+            dropped(batch, reason);
+            return;
+        }
+        retryCount.incrementAndGet();
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << attempt);
+        // add jitter so that concurrent batches do not retry at the same time
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        logger.trace("BatchWriteItem: retrying {} items in {} ms ({})", batch.size(), delay, reason);
+        scheduler.schedule(() -> writeBatch(dtoClass, batch, attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void completed(int count) {
+        writtenCount.addAndGet(count);
+        capacity.release(count);
+    }
+
+    private void dropped(List<? extends DynamoDBItem<?>> batch, @Nullable String reason) {
+        logger.warn("BatchWriteItem: failed (final) to write {} items: {}. Aborting.", batch.size(), reason);
+        droppedCount.addAndGet(batch.size());
+        capacity.release(batch.size());
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getBatchRequestCount() {
+        return batchRequestCount.get();
+    }
+
+    public long getPutRequestCount() {
+        return putRequestCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of buffered DTOs which were not written because a later DTO had the same key
+     */
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.persistence.dynamodb.internal;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -49,6 +50,9 @@ public class DynamoDBConfig {
     public static final String DEFAULT_TABLE_NAME = "openhab";
     public static final long DEFAULT_READ_CAPACITY_UNITS = 1;
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
+    public static final int DEFAULT_WRITE_BUFFER_SIZE = 0;
+    public static final long DEFAULT_WRITE_BUFFER_MAX_LATENCY_MILLIS = 1000;
+    public static final int DEFAULT_WRITE_BUFFER_MAX_RETRIES = 5;
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
     private long readCapacityUnits;
@@ -60,6 +64,9 @@ public class DynamoDBConfig {
     private String table;
     private String tablePrefixLegacy;
     private @Nullable Integer expireDays;
+    private int writeBufferSize = DEFAULT_WRITE_BUFFER_SIZE;
+    private Duration writeBufferMaxLatency = Duration.ofMillis(DEFAULT_WRITE_BUFFER_MAX_LATENCY_MILLIS);
+    private int writeBufferMaxRetries = DEFAULT_WRITE_BUFFER_MAX_RETRIES;
 
     /**
      *
@@ -168,25 +175,67 @@ public class DynamoDBConfig {
                 }
             }
 
+            final int writeBufferSize;
+            Object writeBufferSizeParam = config.get("writeBufferSize");
+            if (writeBufferSizeParam == null || writeBufferSizeParam.toString().isBlank()) {
+                writeBufferSize = DEFAULT_WRITE_BUFFER_SIZE;
+            } else {
+                writeBufferSize = Integer.parseInt(writeBufferSizeParam.toString());
+                if (writeBufferSize < 0) {
+                    LOGGER.error("writeBufferSize should be zero or positive integer");
+                    return null;
+                }
+            }
+
+            final long writeBufferMaxLatency;
+            Object writeBufferMaxLatencyParam = config.get("writeBufferMaxLatency");
+            if (writeBufferMaxLatencyParam == null || writeBufferMaxLatencyParam.toString().isBlank()) {
+                writeBufferMaxLatency = DEFAULT_WRITE_BUFFER_MAX_LATENCY_MILLIS;
+            } else {
+                writeBufferMaxLatency = Long.parseLong(writeBufferMaxLatencyParam.toString());
+                if (writeBufferMaxLatency <= 0) {
+                    LOGGER.error("writeBufferMaxLatency should be positive integer");
+                    return null;
+                }
+            }
+
+            final int writeBufferMaxRetries;
+            Object writeBufferMaxRetriesParam = config.get("writeBufferMaxRetries");
+            if (writeBufferMaxRetriesParam == null || writeBufferMaxRetriesParam.toString().isBlank()) {
+                writeBufferMaxRetries = DEFAULT_WRITE_BUFFER_MAX_RETRIES;
+            } else {
+                writeBufferMaxRetries = Integer.parseInt(writeBufferMaxRetriesParam.toString());
+            }
+
+            final DynamoDBConfig dbConfig;
             switch (tableRevision) {
                 case NEW:
                     LOGGER.debug("Using new DynamoDB table schema");
-                    return DynamoDBConfig.newSchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            table, readCapacityUnits, writeCapacityUnits, expireDays);
+                    dbConfig = DynamoDBConfig.newSchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), table, readCapacityUnits, writeCapacityUnits,
+                            expireDays);
+                    break;
                 case LEGACY:
                     LOGGER.warn(
                             "Using legacy DynamoDB table schema. It is recommended to transition to new schema by defining 'table' parameter and not configuring 'tablePrefix'");
-                    return DynamoDBConfig.legacySchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            tablePrefixLegacy, readCapacityUnits, writeCapacityUnits);
+                    dbConfig = DynamoDBConfig.legacySchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), tablePrefixLegacy, readCapacityUnits,
+                            writeCapacityUnits);
+                    break;
                 case MAYBE_LEGACY:
                     LOGGER.debug(
                             "Unclear whether we should use new legacy DynamoDB table schema. It is recommended to explicitly define new 'table' parameter. The correct table schema will be detected at runtime.");
-                    return DynamoDBConfig.maybeLegacySchema(region, credentials,
+                    dbConfig = DynamoDBConfig.maybeLegacySchema(region, credentials,
                             retryMode.map(AwsRetryPolicy::forRetryMode), table, tablePrefixLegacy, readCapacityUnits,
                             writeCapacityUnits, expireDays);
+                    break;
                 default:
                     throw new IllegalStateException("Unhandled enum. Bug");
             }
+            dbConfig.writeBufferSize = writeBufferSize;
+            dbConfig.writeBufferMaxLatency = Duration.ofMillis(writeBufferMaxLatency);
+            dbConfig.writeBufferMaxRetries = Math.max(0, writeBufferMaxRetries);
+            return dbConfig;
         } catch (Exception e) {
             LOGGER.error("Error with configuration: {} {}", e.getClass().getSimpleName(), e.getMessage());
             return null;
@@ -263,4 +312,19 @@ public class DynamoDBConfig {
     public @Nullable Integer getExpireDays() {
         return expireDays;
     }
+
+    /**
+     * @return maximum number of items buffered for BatchWriteItem requests. 0 means writes are not buffered.
+     */
+    public int getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    public Duration getWriteBufferMaxLatency() {
+        return writeBufferMaxLatency;
+    }
+
+    public int getWriteBufferMaxRetries() {
+        return writeBufferMaxRetries;
+    }
 }
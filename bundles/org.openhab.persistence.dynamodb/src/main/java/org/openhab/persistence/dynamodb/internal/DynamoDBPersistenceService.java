@@ -28,6 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javax.measure.Unit;
@@ -115,10 +116,13 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
+    // queries wait at most this long for buffered items to be written
+    private static final Duration TIMEOUT_QUERY_FLUSH = Duration.ofSeconds(1);
     private Map<Class<? extends DynamoDBItem<?>>, DynamoDbAsyncTable<? extends DynamoDBItem<?>>> tableCache = new ConcurrentHashMap<>(
             2);
 
     private @Nullable URI endpointOverride;
+    private @Nullable DynamoDBBatchWriter batchWriter;
 
     void overrideConfig(AwsRequestOverrideConfiguration.Builder config) {
         config.apiCallAttemptTimeout(TIMEOUT_API_CALL_ATTEMPT).apiCallTimeout(TIMEOUT_API_CALL);
@@ -157,6 +161,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return endpointOverride;
     }
 
+    @Nullable
+    DynamoDbEnhancedAsyncClient getClient() {
+        return client;
+    }
+
     @Nullable
     DynamoDbAsyncClient getLowLevelClient() {
         return lowLevelClient;
@@ -176,8 +185,17 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return dbConfig;
     }
 
+    /**
+     * For tests
+     */
+    @Nullable
+    DynamoDBBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     @Activate
     public void activate(final @Nullable BundleContext bundleContext, final Map<String, Object> config) {
+        stopBatchWriter();
         disconnect();
         DynamoDBConfig localDbConfig = dbConfig = DynamoDBConfig.fromConfig(config);
         if (localDbConfig == null) {
@@ -197,6 +215,15 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        if (localDbConfig.getWriteBufferSize() > 0) {
+            DynamoDBBatchWriter localBatchWriter = new DynamoDBBatchWriter(this,
+                    ThreadPoolManager.getScheduledPool(DYNAMODB_THREADPOOL_NAME), localDbConfig.getWriteBufferSize(),
+                    localDbConfig.getWriteBufferMaxLatency(), localDbConfig.getWriteBufferMaxRetries());
+            localBatchWriter.start();
+            batchWriter = localBatchWriter;
+            logger.debug("Buffering up to {} items for BatchWriteItem requests", localDbConfig.getWriteBufferSize());
+        }
+
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -205,9 +232,19 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     public void deactivate() {
         logger.debug("dynamodb persistence service deactivated");
         logIfManyQueuedTasks();
+        stopBatchWriter();
         disconnect();
     }
 
+    private void stopBatchWriter() {
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            // write buffered items while the client is still available
+            localBatchWriter.stop(TIMEOUT_API_CALL);
+            batchWriter = null;
+        }
+    }
+
     /**
      * Initializes Dynamo DB client and determines schema
      *
@@ -277,7 +314,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
+    <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
         DynamoDbEnhancedAsyncClient localClient = client;
         DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
         if (!ensureClient() || localClient == null || localTableNameResolver == null) {
@@ -364,6 +401,12 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             logger.warn("DynamoDB not connected. Returning empty query results.");
             return Collections.emptyList();
         }
+        // make buffered items visible to the query
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null && !localBatchWriter.flushAndWait(TIMEOUT_QUERY_FLUSH)) {
+            logger.debug("Buffered items not written within {} ms, querying without them",
+                    TIMEOUT_QUERY_FLUSH.toMillis());
+        }
 
         //
         // Resolve unclear table schema if needed
@@ -530,58 +573,88 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         // We 'copy' the item for local use. copyItem also normalizes the unit with NumberItems.
         final GenericItem copiedItem = copyItem(itemTemplate, item, effectiveName, null, unitProvider);
 
-        resolveTableSchema().thenAcceptAsync(resolved -> {
-            if (!resolved) {
-                logger.warn("Table schema not resolved, not storing item {}.", copiedItem.getName());
+        // With buffered writes, space in the buffer is reserved here, blocking the caller if the buffer is full.
+        // The reservation is handed over to the buffer when the DTO is added, or released if the store is aborted.
+        final DynamoDBBatchWriter localBatchWriter = batchWriter;
+        final AtomicBoolean reserved = new AtomicBoolean(false);
+        if (localBatchWriter != null) {
+            if (!localBatchWriter.reserve()) {
+                logger.warn("Write buffer is full, not storing item {}.", item.getName());
                 return;
             }
-
-            DynamoDbEnhancedAsyncClient localClient = client;
-            DynamoDbAsyncClient localLowlevelClient = lowLevelClient;
-            DynamoDBConfig localConfig = dbConfig;
-            DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
-            if (!isProperlyConfigured || localClient == null || localLowlevelClient == null || localConfig == null
-                    || localTableNameResolver == null) {
-                logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
-                return;
+            reserved.set(true);
+        }
+        final Runnable releaseReservation = () -> {
+            if (localBatchWriter != null && reserved.getAndSet(false)) {
+                localBatchWriter.release();
             }
+        };
 
-            Integer expireDays = localConfig.getExpireDays();
-
-            final DynamoDBItem<?> dto;
-            switch (localTableNameResolver.getTableSchema()) {
-                case NEW:
-                    dto = AbstractDynamoDBItem.fromStateNew(copiedItem, time, expireDays);
-                    break;
-                case LEGACY:
-                    dto = AbstractDynamoDBItem.fromStateLegacy(copiedItem, time);
-                    break;
-                default:
-                    throw new IllegalStateException("Unexpected. Bug");
+        resolveTableSchema().thenAcceptAsync(resolved -> {
+            try {
+                storeResolved(resolved, copiedItem, item, effectiveName, time, localBatchWriter, reserved);
+            } finally {
+                releaseReservation.run();
             }
-            logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
-                    copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<DynamoDBBigDecimalItem>(DynamoDBPersistenceService.this,
-                            dynamoBigDecimalItem, getTable(DynamoDBBigDecimalItem.class));
-                }
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<DynamoDBStringItem>(DynamoDBPersistenceService.this,
-                            dynamoStringItem, getTable(DynamoDBStringItem.class));
-                }
-            }).putItemAsync();
         }, executor).exceptionally(e -> {
+            releaseReservation.run();
             logger.error("Unexcepted error", e);
             return null;
         });
     }
 
+    private void storeResolved(boolean resolved, GenericItem copiedItem, Item item, String effectiveName,
+            ZonedDateTime time, @Nullable DynamoDBBatchWriter localBatchWriter, AtomicBoolean reserved) {
+        if (!resolved) {
+            logger.warn("Table schema not resolved, not storing item {}.", copiedItem.getName());
+            return;
+        }
+
+        DynamoDbEnhancedAsyncClient localClient = client;
+        DynamoDbAsyncClient localLowlevelClient = lowLevelClient;
+        DynamoDBConfig localConfig = dbConfig;
+        DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
+        if (!isProperlyConfigured || localClient == null || localLowlevelClient == null || localConfig == null
+                || localTableNameResolver == null) {
+            logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
+            return;
+        }
+
+        Integer expireDays = localConfig.getExpireDays();
+
+        final DynamoDBItem<?> dto;
+        switch (localTableNameResolver.getTableSchema()) {
+            case NEW:
+                dto = AbstractDynamoDBItem.fromStateNew(copiedItem, time, expireDays);
+                break;
+            case LEGACY:
+                dto = AbstractDynamoDBItem.fromStateLegacy(copiedItem, time);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected. Bug");
+        }
+        logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
+                copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
+        if (localBatchWriter != null && reserved.getAndSet(false)) {
+            localBatchWriter.add(dto);
+            return;
+        }
+        dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                return new TableCreatingPutItem<DynamoDBBigDecimalItem>(DynamoDBPersistenceService.this,
+                        dynamoBigDecimalItem, getTable(DynamoDBBigDecimalItem.class));
+            }
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
+                return new TableCreatingPutItem<DynamoDBStringItem>(DynamoDBPersistenceService.this, dynamoStringItem,
+                        getTable(DynamoDBStringItem.class));
+            }
+        }).putItemAsync();
+    }
+
     private Item getEffectiveItem(Item item) {
         final Item effectiveItem;
         if (item instanceof GroupItem groupItem) {
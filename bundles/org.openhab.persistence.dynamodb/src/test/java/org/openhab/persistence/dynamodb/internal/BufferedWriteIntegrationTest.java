@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Tests storing with the write buffer enabled, i.e. using BatchWriteItem requests
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BufferedWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+    private static final String NAME_PREFIX = "bufferedNumber";
+    private static final int ITEM_COUNT = 100;
+    private static final NumberItem QUERIED_ITEM = new NumberItem("bufferedQueriedNumber");
+
+    private static final List<NumberItem> BUFFERED_ITEMS = new ArrayList<>();
+
+    @BeforeAll
+    public static void initService(TestInfo testInfo) {
+        service = newService(isLegacyTest(testInfo), true, null, null, null,
+                Map.of("writeBufferSize", "50", "writeBufferMaxLatency", "200"));
+        clearData();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            NumberItem item = new NumberItem(NAME_PREFIX + i);
+            ITEMS.put(item.getName(), item);
+            BUFFERED_ITEMS.add(item);
+        }
+        ITEMS.put(QUERIED_ITEM.getName(), QUERIED_ITEM);
+    }
+
+    @AfterAll
+    public static void removeItems() {
+        BUFFERED_ITEMS.forEach(item -> ITEMS.remove(item.getName()));
+        ITEMS.remove(QUERIED_ITEM.getName());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testStoreUsesBatchWrites() {
+        DynamoDBBatchWriter batchWriter = service.getBatchWriter();
+        assertNotNull(batchWriter);
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            NumberItem item = BUFFERED_ITEMS.get(i);
+            item.setState(new DecimalType(i));
+            service.store(item);
+        }
+
+        waitForAssert(() -> assertEquals(ITEM_COUNT, batchWriter.getWrittenCount()));
+        assertEquals(0, batchWriter.getDroppedCount());
+
+        for (int i = 0; i < ITEM_COUNT; i += 33) {
+            FilterCriteria criteria = new FilterCriteria();
+            criteria.setItemName(NAME_PREFIX + i);
+            Iterator<HistoricItem> results = service.query(criteria).iterator();
+            assertTrue(results.hasNext());
+            assertEquals(new DecimalType(i), results.next().getState());
+            assertFalse(results.hasNext());
+        }
+
+        // without the buffer, every item is written with its own PutItem request
+        long requests = batchWriter.getBatchRequestCount() + batchWriter.getPutRequestCount();
+        LOGGER.info("Stored {} items using {} requests ({} BatchWriteItem, {} PutItem) instead of {} PutItem requests",
+                ITEM_COUNT, requests, batchWriter.getBatchRequestCount(), batchWriter.getPutRequestCount(),
+                ITEM_COUNT);
+        assertTrue(requests < ITEM_COUNT / 2, "Expected far less requests than items, got " + requests);
+    }
+
+    @Test
+    public void testQueryIncludesBufferedItems() {
+        QUERIED_ITEM.setState(new DecimalType(42));
+        service.store(QUERIED_ITEM);
+
+        // queried right away, the query has to wait for the buffered item to be written
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName(QUERIED_ITEM.getName());
+        Iterator<HistoricItem> results = service.query(criteria).iterator();
+        assertTrue(results.hasNext());
+        assertEquals(new DecimalType(42), results.next().getState());
+        assertFalse(results.hasNext());
+    }
+}
@@ -19,6 +19,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -255,4 +256,25 @@ public class DynamoDBConfigTest {
         assertEquals(Optional.empty(), fromConfig.getRetryPolicy().map(RetryPolicy::retryMode));
         assertEquals(ExpectedTableSchema.MAYBE_LEGACY, fromConfig.getTableRevision());
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testWriteBufferSettings() throws Exception {
+        DynamoDBConfig defaultConfig = DynamoDBConfig
+                .fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey", "secret1"));
+        assertEquals(0, defaultConfig.getWriteBufferSize());
+        assertEquals(Duration.ofMillis(1000), defaultConfig.getWriteBufferMaxLatency());
+        assertEquals(5, defaultConfig.getWriteBufferMaxRetries());
+
+        DynamoDBConfig fromConfig = DynamoDBConfig.fromConfig(
+                mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey", "secret1", "table", "mytable",
+                        "writeBufferSize", "500", "writeBufferMaxLatency", "250", "writeBufferMaxRetries", "2"));
+        assertEquals(500, fromConfig.getWriteBufferSize());
+        assertEquals(Duration.ofMillis(250), fromConfig.getWriteBufferMaxLatency());
+        assertEquals(2, fromConfig.getWriteBufferMaxRetries());
+        assertEquals(ExpectedTableSchema.NEW, fromConfig.getTableRevision());
+
+        assertNull(DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey",
+                "secret1", "writeBufferSize", "-1")));
+    }
 }
@@ -14,6 +14,7 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -36,10 +37,13 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
+import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -54,6 +58,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
+import org.openhab.persistence.influxdb.internal.InfluxDBQueryResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
@@ -243,15 +248,56 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 return List.of();
             }
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy());
-            return results.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
+            String retentionPolicy = configuration.getRetentionPolicy();
+            Duration aggregationWindow = getAggregationWindow(filter);
+            return new InfluxDBQueryResult(() -> influxDBRepository
+                    .query(filter, retentionPolicy, aggregationWindow).map(this::mapRowToHistoricItem));
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
             return List.of();
         }
     }
 
+    /**
+     * Determine the time window the values of a query are aggregated to by the database.
+     *
+     * The values are only aggregated for queries of numeric items over a complete time range, if the range contains
+     * more than the configured maximum number of points at a resolution of one value per second.
+     *
+     * The method is package-private for testing.
+     *
+     * @param filter the query filter
+     * @return the aggregation window or <code>null</code> if the raw values should be queried
+     */
+    @Nullable
+    Duration getAggregationWindow(FilterCriteria filter) {
+        int maxQueryPoints = configuration.getMaxQueryPoints();
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        String itemName = filter.getItemName();
+        if (maxQueryPoints <= 0 || beginDate == null || endDate == null || itemName == null
+                || filter.getState() != null || filter.getPageSize() != Integer.MAX_VALUE) {
+            return null;
+        }
+
+        long rangeMillis = Duration.between(beginDate, endDate).toMillis();
+        long windowSeconds = (rangeMillis + maxQueryPoints * 1000L - 1) / (maxQueryPoints * 1000L);
+        if (windowSeconds <= 1) {
+            return null;
+        }
+
+        try {
+            Item item = itemRegistry.getItem(itemName);
+            if (item instanceof GroupItem groupItem) {
+                item = groupItem.getBaseItem();
+            }
+            // only numbers can be averaged
+            return item instanceof NumberItem ? Duration.ofSeconds(windowSeconds) : null;
+        } catch (ItemNotFoundException e) {
+            return null;
+        }
+    }
+
     private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row) {
         State state = InfluxDBStateConvertUtils.objectToState(row.value(), row.itemName(), itemRegistry);
         return new InfluxDBHistoricItem(row.itemName(), state,
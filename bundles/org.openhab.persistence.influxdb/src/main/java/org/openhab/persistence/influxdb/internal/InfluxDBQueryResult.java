@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * The result of a query.
+ *
+ * The query is executed each time an iterator is requested and the items are read from the database while iterating,
+ * so large results are never held in memory completely. The query is closed when all items have been read, or when the
+ * iterator is no longer referenced before that, so an abandoned result does not keep the database response open.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBQueryResult implements Iterable<HistoricItem> {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Supplier<Stream<HistoricItem>> query;
+
+    /**
+     * @param query executes the query, the returned stream is closed after the result has been read
+     */
+    public InfluxDBQueryResult(Supplier<Stream<HistoricItem>> query) {
+        this.query = query;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new ClosingIterator(query.get());
+    }
+
+    private static class ClosingIterator implements Iterator<HistoricItem> {
+        private final Iterator<HistoricItem> iterator;
+        private final Cleaner.Cleanable closeAction;
+
+        ClosingIterator(Stream<HistoricItem> items) {
+            this.iterator = items.iterator();
+            // the action must not reference this iterator, otherwise it would never become unreachable
+            this.closeAction = CLEANER.register(this, items::close);
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = iterator.hasNext();
+            if (!hasNext) {
+                closeAction.clean();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public HistoricItem next() {
+            return iterator.next();
+        }
+    }
+}
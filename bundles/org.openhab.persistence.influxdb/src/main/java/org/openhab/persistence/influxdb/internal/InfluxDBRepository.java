@@ -12,11 +12,14 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -60,13 +63,18 @@ public interface InfluxDBRepository {
     Map<String, Integer> getStoredItemsCount();
 
     /**
-     * Executes Flux query
+     * Executes query
+     *
+     * The results may be read lazily from the server while the returned stream is consumed. A stream that is not
+     * consumed completely should be closed.
      *
      * @param filter the query filter
+     * @param retentionPolicy Name of the retentionPolicy/bucket to query
+     * @param aggregationWindow Duration of the time windows the values are averaged over, <code>null</code> to query
+     *            the raw values
      * @return Query results
-     * 
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
+    Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable Duration aggregationWindow);
 
     /**
      * Write points to database
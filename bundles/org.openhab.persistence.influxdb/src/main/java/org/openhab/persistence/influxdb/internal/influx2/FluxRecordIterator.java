@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx2;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.influxdb.Cancellable;
+import com.influxdb.query.FluxRecord;
+
+/**
+ * Bridges the asynchronous callbacks of a streamed Flux query to an {@link Iterator}.
+ *
+ * The records are handed over through a bounded queue, so the HTTP response is only read as fast as the records are
+ * consumed and at most {@link #QUEUE_CAPACITY} records are held in memory. The query is cancelled by {@link #cancel()}
+ * when the consumer abandons the result, and in any case if the consumer stops reading for longer than
+ * {@link #TIMEOUT_SECONDS}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class FluxRecordIterator implements Iterator<FluxRecord> {
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final Object END_OF_RESULT = new Object();
+
+    private final Logger logger = LoggerFactory.getLogger(FluxRecordIterator.class);
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final String query;
+
+    private volatile @Nullable Cancellable cancellable;
+    private volatile boolean cancelled = false;
+
+    private @Nullable FluxRecord next;
+    private boolean finished = false;
+
+    FluxRecordIterator(String query) {
+        this.query = query;
+    }
+
+    void onNext(Cancellable cancellable, FluxRecord record) {
+        this.cancellable = cancellable;
+        if (cancelled) {
+            cancellable.cancel();
+            return;
+        }
+        try {
+            if (!queue.offer(record, TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("Cancelling query '{}', the results are not consumed", query);
+                cancel();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+        }
+    }
+
+    void onError(Throwable throwable) {
+        logger.warn("Failed to execute query '{}': {}", query, throwable.getMessage());
+        onComplete();
+    }
+
+    void onComplete() {
+        if (cancelled) {
+            return;
+        }
+        try {
+            if (!queue.offer(END_OF_RESULT, TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("Failed to complete query '{}', the results are not consumed", query);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops reading the results, the iterator won't return any further record.
+     */
+    void cancel() {
+        cancelled = true;
+        Cancellable currentCancellable = cancellable;
+        if (currentCancellable != null && !currentCancellable.isCancelled()) {
+            currentCancellable.cancel();
+        }
+        // unblock the producer
+        queue.clear();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                Object element = cancelled ? END_OF_RESULT : queue.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (element == null) {
+                    logger.warn("Query '{}' timed out", query);
+                    cancel();
+                    finished = true;
+                } else if (element == END_OF_RESULT) {
+                    finished = true;
+                } else {
+                    next = (FluxRecord) element;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                finished = true;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public FluxRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        FluxRecord record = Objects.requireNonNull(next);
+        next = null;
+        return record;
+    }
+}
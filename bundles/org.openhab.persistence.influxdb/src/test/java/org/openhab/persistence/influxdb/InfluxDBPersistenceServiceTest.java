@@ -12,10 +12,13 @@
  */
 package org.openhab.persistence.influxdb;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.MAX_QUERY_POINTS_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.TOKEN_PARAM;
@@ -23,6 +26,9 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.UR
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,8 +38,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
@@ -75,6 +84,7 @@ public class InfluxDBPersistenceServiceTest {
             RETENTION_POLICY_PARAM, "default");
 
     private @Mock @NonNullByDefault({}) InfluxDBRepository influxDBRepositoryMock;
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistryMock;
 
     private final InfluxDBMetadataService influxDBMetadataService = new InfluxDBMetadataService(
             mock(MetadataRegistry.class));
@@ -124,8 +134,53 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void aggregationWindowIsOnlyUsedForLargeNumericRanges() throws Exception {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(MAX_QUERY_POINTS_PARAM, 1000);
+        InfluxDBPersistenceService instance = getService(config);
+        when(itemRegistryMock.getItem("number")).thenReturn(ItemTestHelper.createNumberItem("number", 5));
+        when(itemRegistryMock.getItem("string")).thenReturn(new StringItem("string"));
+        when(itemRegistryMock.getItem("unknown")).thenThrow(new ItemNotFoundException("unknown"));
+
+        ZonedDateTime now = ZonedDateTime.now();
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName("number");
+        criteria.setBeginDate(now.minusDays(1));
+        criteria.setEndDate(now);
+        // 86400 s in 1000 points
+        assertEquals(Duration.ofSeconds(87), instance.getAggregationWindow(criteria));
+
+        criteria.setBeginDate(now.minusMinutes(10));
+        assertNull(instance.getAggregationWindow(criteria));
+
+        criteria.setBeginDate(now.minusDays(1));
+        criteria.setPageSize(1);
+        assertNull(instance.getAggregationWindow(criteria));
+
+        criteria.setPageSize(Integer.MAX_VALUE);
+        criteria.setItemName("string");
+        assertNull(instance.getAggregationWindow(criteria));
+
+        criteria.setItemName("unknown");
+        assertNull(instance.getAggregationWindow(criteria));
+    }
+
+    @Test
+    public void aggregationWindowIsNotUsedByDefault() throws Exception {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(itemRegistryMock.getItem("number")).thenReturn(ItemTestHelper.createNumberItem("number", 5));
+
+        ZonedDateTime now = ZonedDateTime.now();
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName("number");
+        criteria.setBeginDate(now.minusYears(1));
+        criteria.setEndDate(now);
+        assertNull(instance.getAggregationWindow(criteria));
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
-        return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
+        return new InfluxDBPersistenceService(itemRegistryMock, influxDBMetadataService, config) {
             @Override
             protected InfluxDBRepository createInfluxDBRepository() {
                 return influxDBRepositoryMock;
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Tests the {@link InfluxDBQueryResult}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBQueryResultTest {
+    private final AtomicInteger executed = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private InfluxDBQueryResult createResult(int size) {
+        return new InfluxDBQueryResult(() -> {
+            executed.incrementAndGet();
+            return Stream.iterate(0, i -> i < size, i -> i + 1)
+                    .<HistoricItem> map(i -> new InfluxDBHistoricItem("item", new DecimalType(i), ZonedDateTime.now()))
+                    .onClose(closed::incrementAndGet);
+        });
+    }
+
+    private static int count(Iterator<HistoricItem> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void queryIsExecutedWhenIterated() {
+        InfluxDBQueryResult result = createResult(2);
+        assertThat(executed.get(), is(0));
+
+        Iterator<HistoricItem> iterator = result.iterator();
+        assertThat(executed.get(), is(1));
+        assertThat(iterator.next().getState(), is(new DecimalType(0)));
+        assertThat(iterator.next().getState(), is(new DecimalType(1)));
+    }
+
+    @Test
+    public void queryIsClosedWhenAllItemsAreRead() {
+        Iterator<HistoricItem> iterator = createResult(2).iterator();
+        iterator.next();
+        iterator.next();
+        assertThat(closed.get(), is(0));
+
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(closed.get(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(closed.get(), is(1));
+    }
+
+    @Test
+    public void queryIsExecutedAgainForEachIteration() {
+        InfluxDBQueryResult result = createResult(2);
+
+        assertThat(count(result.iterator()), is(2));
+        assertThat(count(result.iterator()), is(2));
+        assertThat(executed.get(), is(2));
+        assertThat(closed.get(), is(2));
+    }
+}
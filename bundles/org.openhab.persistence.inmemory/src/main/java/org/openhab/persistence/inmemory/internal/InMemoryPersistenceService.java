@@ -14,6 +14,7 @@ package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
@@ -66,11 +67,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String COMPACT_STORAGE_CONFIG = "compactStorage";
+    private final boolean COMPACT_STORAGE_DEFAULT = false;
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private boolean compactStorage = COMPACT_STORAGE_DEFAULT;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +85,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        compactStorage = ConfigParser.valueAsOrElse(config.get(COMPACT_STORAGE_CONFIG), Boolean.class,
+                COMPACT_STORAGE_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
             Lock lock = persistItem.lock();
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -146,8 +150,16 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            NumericRingBuffer numericDatabase = persistItem.numericDatabase();
+            if (numericDatabase != null) {
+                numericDatabase.removeIf(numericDatabase.fromIndex(filter.getBeginDate()),
+                        numericDatabase.toIndex(filter.getEndDate()),
+                        i -> applies(toPersistEntry(numericDatabase, i), filter));
+            } else {
+                List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter))
+                        .toList();
+                toRemove.forEach(persistItem.database()::remove);
+            }
         } finally {
             lock.unlock();
         }
@@ -169,6 +181,20 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
+            NumericRingBuffer numericDatabase = persistItem.numericDatabase();
+            if (numericDatabase != null) {
+                // the buffer is sorted, so the time range can be found by binary search
+                int fromIndex = numericDatabase.fromIndex(filter.getBeginDate());
+                int toIndex = numericDatabase.toIndex(filter.getEndDate());
+                List<HistoricItem> result = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+                for (int i = fromIndex; i < toIndex; i++) {
+                    PersistEntry entry = toPersistEntry(numericDatabase, i);
+                    if (filter.getState() == null || applies(entry, filter)) {
+                        result.add(toHistoricItem(itemName, entry));
+                    }
+                }
+                return result;
+            }
             return persistItem.database().stream().filter(e -> applies(e, filter)).map(e -> toHistoricItem(itemName, e))
                     .toList();
         } finally {
@@ -187,9 +213,9 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            Integer count = itemEntry.getValue().size();
+            Instant earliest = itemEntry.getValue().earliest().toInstant();
+            Instant latest = itemEntry.getValue().latest().toInstant();
             return new PersistenceItemInfo() {
 
                 @Override
@@ -241,18 +267,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName, k -> new PersistItem()));
 
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
-            }
+            persistItem.add(timestamp, state, compactStorage, maxEntries);
         } finally {
             lock.unlock();
         }
@@ -303,9 +323,79 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return true;
     }
 
+    private static PersistEntry toPersistEntry(NumericRingBuffer numericDatabase, int index) {
+        return new PersistEntry(numericDatabase.getTimestamp(index), numericDatabase.getState(index));
+    }
+
     private record PersistEntry(ZonedDateTime timestamp, State state) {
     };
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
-    };
+    /**
+     * Holds the states of one item. Numeric states are kept in a {@link NumericRingBuffer} if compact storage is
+     * enabled, all other states in a {@link TreeSet}. An item only uses one of both at a time.
+     */
+    private static class PersistItem {
+        private final TreeSet<PersistEntry> database = new TreeSet<>(Comparator.comparing(PersistEntry::timestamp));
+        private final Lock lock = new ReentrantLock();
+        private @Nullable NumericRingBuffer numericDatabase;
+
+        public TreeSet<PersistEntry> database() {
+            return database;
+        }
+
+        public Lock lock() {
+            return lock;
+        }
+
+        public @Nullable NumericRingBuffer numericDatabase() {
+            return numericDatabase;
+        }
+
+        public void add(ZonedDateTime timestamp, State state, boolean compact, long maxEntries) {
+            NumericRingBuffer numericDatabase = this.numericDatabase;
+            if (numericDatabase == null && compact && database.isEmpty()) {
+                numericDatabase = NumericRingBuffer.forState(state, timestamp.getZone());
+                this.numericDatabase = numericDatabase;
+            }
+            if (numericDatabase != null) {
+                if (compact && numericDatabase.add(timestamp, state, maxEntries)) {
+                    numericDatabase.trim(maxEntries);
+                    return;
+                }
+                // the state can't be stored in compact form, move all states to the generic storage
+                for (int i = 0; i < numericDatabase.size(); i++) {
+                    database.add(toPersistEntry(numericDatabase, i));
+                }
+                this.numericDatabase = null;
+            }
+            database.add(new PersistEntry(timestamp, state));
+            trim(maxEntries);
+        }
+
+        public void trim(long maxEntries) {
+            NumericRingBuffer numericDatabase = this.numericDatabase;
+            if (numericDatabase != null) {
+                numericDatabase.trim(maxEntries);
+            }
+            while (maxEntries > 0 && database.size() > maxEntries) {
+                database.pollFirst();
+            }
+        }
+
+        public int size() {
+            NumericRingBuffer numericDatabase = this.numericDatabase;
+            return numericDatabase != null ? numericDatabase.size() : database.size();
+        }
+
+        public ZonedDateTime earliest() {
+            NumericRingBuffer numericDatabase = this.numericDatabase;
+            return numericDatabase != null ? numericDatabase.getTimestamp(0) : database.first().timestamp();
+        }
+
+        public ZonedDateTime latest() {
+            NumericRingBuffer numericDatabase = this.numericDatabase;
+            return numericDatabase != null ? numericDatabase.getTimestamp(numericDatabase.size() - 1)
+                    : database.last().timestamp();
+        }
+    }
 }
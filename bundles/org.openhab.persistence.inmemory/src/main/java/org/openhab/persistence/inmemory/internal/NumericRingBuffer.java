@@ -0,0 +1,254 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.IntPredicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericRingBuffer} stores the numeric states of one item as primitive values, sorted by timestamp.
+ * Timestamps are kept as nanoseconds since the epoch, values as unscaled value and scale of their exact decimal
+ * representation, so restored states are equal to the stored ones. A buffer holds either plain {@link DecimalType}s
+ * or {@link QuantityType}s of a single unit.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NumericRingBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final @Nullable Unit<?> unit;
+    private final ZoneId zone;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] unscaledValues = new long[INITIAL_CAPACITY];
+    private int[] scales = new int[INITIAL_CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    private NumericRingBuffer(@Nullable Unit<?> unit, ZoneId zone) {
+        this.unit = unit;
+        this.zone = zone;
+    }
+
+    /**
+     * Creates a buffer suitable for the given state.
+     *
+     * @param state the first state to store
+     * @param zone the time zone of the returned timestamps
+     * @return a new buffer or null if the state cannot be stored in a compact way
+     */
+    static @Nullable NumericRingBuffer forState(State state, ZoneId zone) {
+        if (state instanceof QuantityType<?> quantity) {
+            return new NumericRingBuffer(quantity.getUnit(), zone);
+        } else if (state.getClass() == DecimalType.class) {
+            return new NumericRingBuffer(null, zone);
+        }
+        return null;
+    }
+
+    /**
+     * Adds a state. A state with the same timestamp as an already stored one is ignored.
+     *
+     * @param maxEntries the number of states the buffer is trimmed to afterwards (0 = infinite), used to limit
+     *            the allocated capacity
+     * @return false if the state cannot be stored in this buffer
+     */
+    boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        BigDecimal value = toValue(state);
+        Long time = toNanos(timestamp.toInstant());
+        if (value == null || time == null) {
+            return false;
+        }
+
+        // states usually arrive in order, so check for appending first
+        int pos = size > 0 && time > timestamps[index(size - 1)] ? size : lowerBound(time);
+        if (pos < size && timestamps[index(pos)] == time) {
+            return true;
+        }
+        ensureCapacity(size + 1, maxEntries);
+        for (int i = size; i > pos; i--) {
+            timestamps[index(i)] = timestamps[index(i - 1)];
+            unscaledValues[index(i)] = unscaledValues[index(i - 1)];
+            scales[index(i)] = scales[index(i - 1)];
+        }
+        timestamps[index(pos)] = time;
+        unscaledValues[index(pos)] = value.unscaledValue().longValue();
+        scales[index(pos)] = value.scale();
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the oldest states until at most the given number of states is left (0 = infinite).
+     */
+    void trim(long maxEntries) {
+        if (maxEntries > 0 && size > maxEntries) {
+            int removed = (int) (size - maxEntries);
+            head = (head + removed) % timestamps.length;
+            size -= removed;
+        }
+    }
+
+    /**
+     * Removes all states in the given index range matching the predicate.
+     */
+    void removeIf(int fromIndex, int toIndex, IntPredicate predicate) {
+        long[] newTimestamps = new long[timestamps.length];
+        long[] newUnscaledValues = new long[unscaledValues.length];
+        int[] newScales = new int[scales.length];
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (i >= fromIndex && i < toIndex && predicate.test(i)) {
+                continue;
+            }
+            newTimestamps[newSize] = timestamps[index(i)];
+            newUnscaledValues[newSize] = unscaledValues[index(i)];
+            newScales[newSize] = scales[index(i)];
+            newSize++;
+        }
+        timestamps = newTimestamps;
+        unscaledValues = newUnscaledValues;
+        scales = newScales;
+        head = 0;
+        size = newSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    ZonedDateTime getTimestamp(int i) {
+        long time = timestamps[index(i)];
+        return Instant.ofEpochSecond(Math.floorDiv(time, NANOS_PER_SECOND), Math.floorMod(time, NANOS_PER_SECOND))
+                .atZone(zone);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    State getState(int i) {
+        BigDecimal value = BigDecimal.valueOf(unscaledValues[index(i)], scales[index(i)]);
+        Unit<?> unit = this.unit;
+        return unit == null ? new DecimalType(value) : new QuantityType(value, (Unit) unit);
+    }
+
+    /**
+     * Returns the index of the first state not before the given time, or 0 if no time is given.
+     */
+    int fromIndex(@Nullable ZonedDateTime begin) {
+        if (begin == null) {
+            return 0;
+        }
+        Long time = toNanos(begin.toInstant());
+        return time == null ? (begin.toInstant().isBefore(Instant.EPOCH) ? 0 : size) : lowerBound(time);
+    }
+
+    /**
+     * Returns the index after the last state not after the given time, or the size if no time is given.
+     */
+    int toIndex(@Nullable ZonedDateTime end) {
+        if (end == null) {
+            return size;
+        }
+        Long time = toNanos(end.toInstant());
+        if (time == null) {
+            return end.toInstant().isBefore(Instant.EPOCH) ? 0 : size;
+        }
+        return time == Long.MAX_VALUE ? size : lowerBound(time + 1);
+    }
+
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[index(mid)] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int index(int i) {
+        int index = head + i;
+        return index >= timestamps.length ? index - timestamps.length : index;
+    }
+
+    private void ensureCapacity(int capacity, long maxEntries) {
+        if (capacity <= timestamps.length) {
+            return;
+        }
+        long newCapacity = 2L * timestamps.length;
+        if (maxEntries > 0) {
+            newCapacity = Math.min(newCapacity, maxEntries + 1);
+        }
+        grow((int) Math.min(Math.max(capacity, newCapacity), Integer.MAX_VALUE - 8));
+    }
+
+    private void grow(int newCapacity) {
+        long[] newTimestamps = new long[newCapacity];
+        long[] newUnscaledValues = new long[newCapacity];
+        int[] newScales = new int[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestamps[index(i)];
+            newUnscaledValues[i] = unscaledValues[index(i)];
+            newScales[i] = scales[index(i)];
+        }
+        timestamps = newTimestamps;
+        unscaledValues = newUnscaledValues;
+        scales = newScales;
+        head = 0;
+    }
+
+    /**
+     * Returns the exact value of the state, or null if it does not fit into this buffer.
+     */
+    private @Nullable BigDecimal toValue(State state) {
+        Unit<?> unit = this.unit;
+        BigDecimal value = null;
+        if (unit == null) {
+            if (state.getClass() == DecimalType.class) {
+                value = ((DecimalType) state).toBigDecimal();
+            }
+        } else if (state instanceof QuantityType<?> quantity && unit.equals(quantity.getUnit())) {
+            value = quantity.toBigDecimal();
+        }
+        return value != null && fitsIntoLong(value.unscaledValue()) ? value : null;
+    }
+
+    private static boolean fitsIntoLong(BigInteger value) {
+        return value.bitLength() < Long.SIZE;
+    }
+
+    private static @Nullable Long toNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+}
@@ -19,9 +19,13 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -36,7 +40,9 @@ import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
@@ -180,4 +186,108 @@ public class InMemoryPersistenceTests {
         assertThat(storedStates.last().getState(), is(historicState3));
         assertThat(storedStates.last().getTimestamp(), is(expectedTime.plusHours(4)));
     }
+
+    @Test
+    public void compactStorageQueriesTimeRange() {
+        service.modified(Map.<String, Object> of("compactStorage", true));
+
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        // store out of order to check the states are kept sorted
+        for (int i : new int[] { 3, 0, 4, 1, 2 }) {
+            service.store(item, time.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setBeginDate(time.plusHours(1));
+        filterCriteria.setEndDate(time.plusHours(3));
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(3));
+        for (int i = 0; i < 3; i++) {
+            assertThat(storedStates.get(i).getName(), is(ITEM_NAME));
+            assertThat(storedStates.get(i).getState(), is(new DecimalType(i + 1)));
+            assertThat(storedStates.get(i).getTimestamp().toInstant(), is(time.plusHours(i + 1).toInstant()));
+        }
+
+        service.remove(filterCriteria);
+        filterCriteria = new FilterCriteria();
+        filterCriteria.setItemName(ITEM_NAME);
+        storedStates.clear();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(2));
+        assertThat(storedStates.get(0).getState(), is(new DecimalType(0)));
+        assertThat(storedStates.get(1).getState(), is(new DecimalType(4)));
+    }
+
+    @Test
+    public void compactStorageFallsBackForIncompatibleStates() {
+        service.modified(Map.<String, Object> of("compactStorage", true));
+
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        State quantity = new QuantityType<>(20, SIUnits.CELSIUS);
+        State otherUnit = new QuantityType<>(300, SIUnits.METRE);
+        service.store(item, time, quantity);
+        service.store(item, time.plusHours(1), otherUnit);
+
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(2));
+        assertThat(storedStates.get(0).getState(), is(quantity));
+        assertThat(storedStates.get(1).getState(), is(otherUnit));
+    }
+
+    @Test
+    public void compactStorageKeepsExactValues() {
+        service.modified(Map.<String, Object> of("compactStorage", true));
+
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        State decimal = new DecimalType(new BigDecimal("0.1000000000000000055"));
+        State negative = new DecimalType(new BigDecimal("-123456789.123456789"));
+        State large = new DecimalType(new BigDecimal("12345678901234567890.5"));
+        service.store(item, time, decimal);
+        service.store(item, time.plusHours(1), negative);
+        service.store(item, time.plusHours(2), large);
+
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(3));
+        assertThat(storedStates.get(0).getState(), is(decimal));
+        assertThat(storedStates.get(1).getState(), is(negative));
+        assertThat(storedStates.get(2).getState(), is(large));
+    }
+
+    @Test
+    public void compactStorageIsTrimmedToMaxEntries() {
+        service.modified(Map.<String, Object> of("compactStorage", true, "maxEntries", 3L));
+
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 20; i++) {
+            service.store(item, time.plusHours(i), new DecimalType(i));
+        }
+
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(3));
+        assertThat(storedStates.get(0).getState(), is(new DecimalType(17)));
+        assertThat(storedStates.get(2).getState(), is(new DecimalType(19)));
+    }
+
+    @Test
+    public void maxEntriesZeroDisablesPurging() {
+        service.modified(Map.<String, Object> of("maxEntries", 0L));
+
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 600; i++) {
+            service.store(item, time.plusMinutes(i), new StringType("value" + i));
+        }
+
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(600));
+    }
 }
@@ -23,6 +23,7 @@ import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jdbc.internal.JdbcWriteQueue.OverflowPolicy;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -65,6 +66,13 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private boolean writeBehindEnabled = false;
+    private int writeBehindQueueSize = 10000;
+    private int writeBehindInterval = 1000;
+    private int writeBehindBatchSize = 500;
+    private OverflowPolicy writeBehindOverflowPolicy = OverflowPolicy.DROP_NEWEST;
+    private int maxQueryPoints = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -189,6 +197,42 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String wb = (String) configuration.get("writeBehindEnabled");
+        if (wb != null && !wb.isBlank()) {
+            writeBehindEnabled = Boolean.parseBoolean(wb);
+            logger.debug("JDBC::updateConfig: writeBehindEnabled={}", writeBehindEnabled);
+        }
+
+        String wq = (String) configuration.get("writeBehindQueueSize");
+        if (wq != null && !wq.isBlank() && isNumericPattern.matcher(wq).matches()) {
+            writeBehindQueueSize = Math.max(1, Integer.parseInt(wq));
+            logger.debug("JDBC::updateConfig: writeBehindQueueSize={}", writeBehindQueueSize);
+        }
+
+        String wi = (String) configuration.get("writeBehindInterval");
+        if (wi != null && !wi.isBlank() && isNumericPattern.matcher(wi).matches()) {
+            writeBehindInterval = Math.max(10, Integer.parseInt(wi));
+            logger.debug("JDBC::updateConfig: writeBehindInterval={}", writeBehindInterval);
+        }
+
+        String ws = (String) configuration.get("writeBehindBatchSize");
+        if (ws != null && !ws.isBlank() && isNumericPattern.matcher(ws).matches()) {
+            writeBehindBatchSize = Math.max(1, Integer.parseInt(ws));
+            logger.debug("JDBC::updateConfig: writeBehindBatchSize={}", writeBehindBatchSize);
+        }
+
+        String wo = (String) configuration.get("writeBehindOverflowPolicy");
+        if (wo != null && !wo.isBlank()) {
+            writeBehindOverflowPolicy = OverflowPolicy.fromConfig(wo);
+            logger.debug("JDBC::updateConfig: writeBehindOverflowPolicy={}", writeBehindOverflowPolicy);
+        }
+
+        String mq = (String) configuration.get("maxQueryPoints");
+        if (mq != null && !mq.isBlank() && isNumericPattern.matcher(mq).matches()) {
+            maxQueryPoints = Math.max(0, Integer.parseInt(mq));
+            logger.debug("JDBC::updateConfig: maxQueryPoints={}", maxQueryPoints);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -369,6 +413,30 @@ public class JdbcConfiguration {
         return errReconnectThreshold;
     }
 
+    public boolean getWriteBehindEnabled() {
+        return writeBehindEnabled;
+    }
+
+    public int getWriteBehindQueueSize() {
+        return writeBehindQueueSize;
+    }
+
+    public int getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public OverflowPolicy getWriteBehindOverflowPolicy() {
+        return writeBehindOverflowPolicy;
+    }
+
+    public int getMaxQueryPoints() {
+        return maxQueryPoints;
+    }
+
     public boolean getRebuildTableNames() {
         return rebuildTableNames;
     }
@@ -13,9 +13,11 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,6 +30,7 @@ import org.knowm.yank.Yank;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
@@ -36,6 +39,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.QueuedItemState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -225,6 +229,68 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    /**
+     * Stores queued item states, using one batch per table. If a batch is rejected while the database is still
+     * reachable, the states of that table are stored one by one, so a single bad row does not discard the others.
+     *
+     * @param states the states to store
+     * @param retry receives the states which could not be stored because the database is not reachable
+     * @return the number of stored states
+     */
+    protected int storeItemValues(List<QueuedItemState> states, List<QueuedItemState> retry) {
+        logger.debug("JDBC::storeItemValues: {} states", states.size());
+        long timerStart = System.currentTimeMillis();
+        Map<String, List<QueuedItemState>> statesByTable = new LinkedHashMap<>();
+        for (QueuedItemState state : states) {
+            try {
+                statesByTable.computeIfAbsent(getTable(state.item()), t -> new ArrayList<>()).add(state);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::storeItemValues: Unable to get table for item '{}'", state.item().getName(), e);
+                retry.add(state);
+            }
+        }
+
+        int stored = 0;
+        for (Map.Entry<String, List<QueuedItemState>> entry : statesByTable.entrySet()) {
+            String tableName = entry.getKey();
+            List<QueuedItemState> tableStates = entry.getValue();
+            try {
+                conf.getDBDAO().doStoreItemValues(tableName, tableStates);
+                stored += tableStates.size();
+                continue;
+            } catch (JdbcSQLException e) {
+                logger.debug("JDBC::storeItemValues: Batch insert into table '{}' failed", tableName, e);
+            }
+            if (!isDBReachable()) {
+                retry.addAll(tableStates);
+                continue;
+            }
+            for (QueuedItemState state : tableStates) {
+                try {
+                    conf.getDBDAO().doStoreItemValue(state.item(), state.state(), new ItemVO(tableName, null),
+                            state.date());
+                    stored++;
+                } catch (JdbcSQLException e) {
+                    logger.warn("JDBC::storeItemValues: Unable to store state '{}' of item '{}'", state.state(),
+                            state.item().getName(), e);
+                }
+            }
+        }
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        if (stored > 0) {
+            errCnt = 0;
+        }
+        return stored;
+    }
+
+    private boolean isDBReachable() {
+        try {
+            return pingDB();
+        } catch (JdbcSQLException e) {
+            return false;
+        }
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -235,13 +301,38 @@ public class JdbcMapper {
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+        Duration bucketSize = getAggregationBucketSize(filter, item, conf.getMaxQueryPoints());
+        List<HistoricItem> result = bucketSize == null
+                ? conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table, item.getName(),
+                        timeZoneProvider.getTimeZone())
+                : conf.getDBDAO().doGetAggregatedHistItemFilterQuery(item, filter, numberDecimalcount, table,
+                        item.getName(), timeZoneProvider.getTimeZone(), bucketSize);
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
+    /**
+     * Returns the size of the time buckets the values of a query are averaged in, or <code>null</code> if all values
+     * are queried. Only unpaged queries of number items with a begin and an end date are aggregated.
+     *
+     * @param filter the query filter
+     * @param item the queried item, the base item for groups
+     * @param maxQueryPoints the maximum number of values to return, 0 to never aggregate
+     */
+    static @Nullable Duration getAggregationBucketSize(FilterCriteria filter, Item item, int maxQueryPoints) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (maxQueryPoints <= 0 || !(item instanceof NumberItem) || beginDate == null || endDate == null
+                || filter.getState() != null || filter.getPageSize() != Integer.MAX_VALUE) {
+            return null;
+        }
+        long rangeSeconds = Duration.between(beginDate, endDate).getSeconds();
+        long bucketSeconds = (rangeSeconds + maxQueryPoints - 1) / maxQueryPoints;
+        // buckets of a single second hardly reduce the number of values
+        return bucketSeconds > 1 ? Duration.ofSeconds(bucketSeconds) : null;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -21,10 +21,15 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
@@ -43,6 +48,7 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.QueuedItemState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -67,10 +73,18 @@ import org.slf4j.LoggerFactory;
 @ConfigurableService(category = "persistence", label = "JDBC Persistence Service", description_uri = JdbcPersistenceServiceConstants.CONFIG_URI)
 public class JdbcPersistenceService extends JdbcMapper implements ModifiablePersistenceService {
 
+    // queries wait at most this long for queued states to be written
+    private static final long QUERY_FLUSH_TIMEOUT_MILLIS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.jdbc");
+    private volatile @Nullable JdbcWriteQueue writeQueue;
+    private @Nullable ScheduledFuture<?> writeBehindJob;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -92,6 +106,14 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void activate(BundleContext bundleContext, Map<Object, Object> configuration) {
         logger.debug("JDBC::activate: persistence service activated");
         updateConfig(configuration);
+        if (conf.getWriteBehindEnabled()) {
+            int interval = conf.getWriteBehindInterval();
+            writeQueue = new JdbcWriteQueue(conf.getWriteBehindQueueSize(), conf.getWriteBehindOverflowPolicy(),
+                    interval);
+            writeBehindJob = scheduler.scheduleWithFixedDelay(this::flushWriteQueue, interval, interval,
+                    TimeUnit.MILLISECONDS);
+            logger.debug("JDBC::activate: write-behind enabled, flushing every {} ms", interval);
+        }
     }
 
     /**
@@ -114,6 +136,14 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        ScheduledFuture<?> writeBehindJob = this.writeBehindJob;
+        if (writeBehindJob != null) {
+            writeBehindJob.cancel(false);
+            this.writeBehindJob = null;
+        }
+        // write remaining states before shutting down
+        flushWriteQueue();
+        writeQueue = null;
         // closeConnection();
         initialized = false;
     }
@@ -151,6 +181,15 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
             return;
         }
+        // queued states are written by flushWriteQueue once the database is reachable
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            if (!writeQueue.offer(new QueuedItemState(item, state, date == null ? ZonedDateTime.now() : date))) {
+                logger.debug("JDBC::store: write-behind queue is full, dropped state '{}' of item '{}'", state,
+                        item.getName());
+            }
+            return;
+        }
         if (!checkDBAccessability()) {
             logger.warn(
                     "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
@@ -169,6 +208,95 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Writes queued states to the database in batches until the queue is empty.
+     */
+    private void flushWriteQueue() {
+        flushLock.lock();
+        try {
+            writeQueuedStates(Long.MAX_VALUE);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes queued states before a query, so they are visible to it. Waits at most
+     * {@link #QUERY_FLUSH_TIMEOUT_MILLIS} for a running flush and then writes batches for at most that long, so a slow
+     * database does not block queries for a full flush.
+     */
+    private void flushWriteQueueBeforeQuery() {
+        try {
+            if (!flushLock.tryLock(QUERY_FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                logger.debug("JDBC::query: queued states are still being written, querying without them");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            writeQueuedStates(System.currentTimeMillis() + QUERY_FLUSH_TIMEOUT_MILLIS);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes queued states to the database in batches until the queue is empty or the deadline has passed. States
+     * which could not be written are put back into the queue for the next run, until they failed too often.
+     *
+     * @param deadline time in milliseconds since the epoch after which no further batch is started
+     */
+    private void writeQueuedStates(long deadline) {
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue == null || writeQueue.isEmpty()) {
+            return;
+        }
+        if (!checkDBAccessability()) {
+            logger.debug("JDBC::flushWriteQueue: No connection to database, keeping {} queued states",
+                    writeQueue.getSize());
+            return;
+        }
+        List<QueuedItemState> states = List.of();
+        try {
+            while (System.currentTimeMillis() < deadline
+                    && !(states = writeQueue.drain(conf.getWriteBehindBatchSize())).isEmpty()) {
+                long timerStart = System.currentTimeMillis();
+                List<QueuedItemState> retry = new ArrayList<>();
+                int stored = storeItemValues(states, retry);
+                writeQueue.recordFlush(stored, states.size() - stored - retry.size());
+                logger.debug("JDBC::flushWriteQueue: Stored {} of {} states in {} ms", stored, states.size(),
+                        System.currentTimeMillis() - timerStart);
+                if (!retry.isEmpty()) {
+                    logger.warn("JDBC::flushWriteQueue: Unable to store {} states, will retry later", retry.size());
+                    requeue(writeQueue, retry);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // the drained states may be partially written, but storing them twice is better than losing them
+            logger.warn("JDBC::flushWriteQueue: Unexpected error while storing {} queued states, will retry later",
+                    states.size(), e);
+            requeue(writeQueue, states);
+        }
+    }
+
+    private void requeue(JdbcWriteQueue writeQueue, List<QueuedItemState> states) {
+        int givenUp = writeQueue.requeue(states);
+        if (givenUp > 0) {
+            logger.warn("JDBC::flushWriteQueue: Dropped {} states which could not be stored in {} attempts", givenUp,
+                    JdbcWriteQueue.MAX_WRITE_ATTEMPTS);
+        }
+    }
+
+    /**
+     * Returns the write-behind queue, or null if write-behind is disabled.
+     */
+    public @Nullable JdbcWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -188,6 +316,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
             return List.of();
         }
+        // make states which are still queued visible to the query
+        flushWriteQueueBeforeQuery();
 
         // Get the item name from the filter
         // Also get the Item object so we can determine the type
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.persistence.jdbc.internal.dto.QueuedItemState;
+
+/**
+ * Bounded queue buffering item states for the write-behind mode until they are flushed to the database in batches.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueue {
+
+    /**
+     * Defines what happens when a state is stored while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the state being stored. */
+        DROP_NEWEST,
+        /** Discard the oldest queued state to make room for the new one. */
+        DROP_OLDEST,
+        /**
+         * Wait for the next flush to make room, discarding the state if that does not happen in time. This blocks the
+         * thread storing the state for at most {@link JdbcWriteQueue#MAX_BLOCK_MILLIS}.
+         */
+        BLOCK;
+
+        public static OverflowPolicy fromConfig(String value) {
+            return switch (value.trim().toLowerCase()) {
+                case "dropoldest" -> DROP_OLDEST;
+                case "block" -> BLOCK;
+                default -> DROP_NEWEST;
+            };
+        }
+    }
+
+    // the persistence manager stores the states of all items on the same thread
+    static final long MAX_BLOCK_MILLIS = 1000;
+    // a state failing this often, e.g. because its table can not be created, is given up
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final LinkedBlockingDeque<QueuedItemState> queue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private volatile long lastFlush = 0;
+
+    public JdbcWriteQueue(int capacity, OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
+        this.queue = new LinkedBlockingDeque<>(capacity);
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = Math.min(blockTimeoutMillis, MAX_BLOCK_MILLIS);
+    }
+
+    /**
+     * Adds a state to the tail of the queue, applying the overflow policy if the queue is full.
+     *
+     * @param state the state to queue
+     * @return true if the given state has been queued
+     */
+    public boolean offer(QueuedItemState state) {
+        boolean accepted = switch (overflowPolicy) {
+            case DROP_OLDEST -> offerDroppingOldest(state);
+            case BLOCK -> offerBlocking(state);
+            default -> queue.offerLast(state);
+        };
+        if (accepted) {
+            queuedCount.incrementAndGet();
+        } else {
+            droppedCount.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private boolean offerDroppingOldest(QueuedItemState state) {
+        while (!queue.offerLast(state)) {
+            if (queue.pollFirst() != null) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerBlocking(QueuedItemState state) {
+        try {
+            return queue.offerLast(state, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Removes up to the given number of states from the head of the queue.
+     *
+     * @param maxElements maximum number of states to return
+     * @return the removed states in the order they were queued
+     */
+    public List<QueuedItemState> drain(int maxElements) {
+        List<QueuedItemState> states = new ArrayList<>(Math.min(maxElements, queue.size()));
+        queue.drainTo(states, maxElements);
+        return states;
+    }
+
+    /**
+     * Puts states that could not be written back to the head of the queue, keeping their original order.
+     * States that failed {@link #MAX_WRITE_ATTEMPTS} times are counted as failed instead, states not fitting into the
+     * queue anymore are dropped.
+     *
+     * @param states the states to put back
+     * @return the number of states that are given up because they failed too often
+     */
+    public int requeue(List<QueuedItemState> states) {
+        int givenUp = 0;
+        for (int i = states.size() - 1; i >= 0; i--) {
+            QueuedItemState state = states.get(i).retried();
+            if (state.attempts() >= MAX_WRITE_ATTEMPTS) {
+                givenUp++;
+            } else if (!queue.offerFirst(state)) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        failedCount.addAndGet(givenUp);
+        return givenUp;
+    }
+
+    public void recordFlush(int written, int failed) {
+        batchCount.incrementAndGet();
+        writtenCount.addAndGet(written);
+        failedCount.addAndGet(failed);
+        lastFlush = System.currentTimeMillis();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public int getSize() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return time of the last flush in milliseconds since the epoch, or 0 if the queue has not been flushed yet
+     */
+    public long getLastFlush() {
+        return lastFlush;
+    }
+}
@@ -13,18 +13,26 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -60,6 +68,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.QueuedItemState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -75,6 +84,11 @@ import org.slf4j.LoggerFactory;
 public class JdbcBaseDAO {
     private final Logger logger = LoggerFactory.getLogger(JdbcBaseDAO.class);
 
+    /**
+     * Number of rows fetched from the database at once when querying historic items
+     */
+    private static final int QUERY_FETCH_SIZE = 1000;
+
     public final Properties databaseProps = new Properties();
     protected String urlSuffix = "";
     public final Map<String, String> sqlTypes = new HashMap<>();
@@ -444,10 +458,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = storeTimestampedItemValueQueryProvider(storedVO);
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeTimestampedItemValueParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -456,26 +469,100 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several states of items sharing the same table with as few round trips as possible.
+     * Rows resulting in the same insert statement are sent as one JDBC batch.
+     *
+     * @param tableName the table all given states belong to
+     * @param states the states to store, each one with its own timestamp
+     * @throws JdbcSQLException if one of the batches could not be executed
+     */
+    public void doStoreItemValues(String tableName, List<QueuedItemState> states) throws JdbcSQLException {
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        for (QueuedItemState state : states) {
+            ItemVO storedVO = storeItemValueProvider(state.item(), state.state(), new ItemVO(tableName, null));
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(state.date().toInstant().toEpochMilli());
+            batches.computeIfAbsent(storeTimestampedItemValueQueryProvider(storedVO), sql -> new ArrayList<>())
+                    .add(storeTimestampedItemValueParamsProvider(storedVO, timestamp));
+        }
+        for (Entry<String, List<Object[]>> batch : batches.entrySet()) {
+            logger.debug("JDBC::doStoreItemValues sql={} rows={}", batch.getKey(), batch.getValue().size());
+            try {
+                Yank.executeBatch(batch.getKey(), batch.getValue().toArray(new Object[0][]));
+            } catch (YankSQLException e) {
+                throw new JdbcSQLException(e);
+            }
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
         logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
-        List<Object[]> m;
-        try {
-            m = Yank.queryObjectArrays(sql, null);
-        } catch (YankSQLException e) {
+        // we already retrieve the unit here once as it is a very costly operation
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return queryHistoricItems(sql, item.getName(), value -> objectAsState(item, unit, value));
+    }
+
+    /**
+     * Queries the averages of the values in time buckets of the given size instead of all values. Falls back to
+     * {@link #doGetHistItemFilterQuery(Item, FilterCriteria, int, String, String, ZoneId)} if the database does not
+     * support time buckets.
+     */
+    public List<HistoricItem> doGetAggregatedHistItemFilterQuery(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, Duration bucketSize)
+            throws JdbcSQLException {
+        String sql = histItemFilterAggregatedQueryProvider(filter, numberDecimalcount, table, timeZone,
+                bucketSize.getSeconds());
+        if (sql == null) {
+            logger.debug("JDBC::doGetAggregatedHistItemFilterQuery time buckets not supported, query all values");
+            return doGetHistItemFilterQuery(item, filter, numberDecimalcount, table, name, timeZone);
+        }
+        logger.debug("JDBC::doGetAggregatedHistItemFilterQuery sql={}", sql);
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return queryHistoricItems(sql, item.getName(), value -> objectAsAggregatedState(unit, value));
+    }
+
+    /**
+     * Executes a query returning time and value and converts the rows while reading them from a cursor, so neither
+     * the driver nor Yank have to hold the whole raw result in memory. Rows without time or value can not be
+     * converted, they are skipped and reported with a warning.
+     */
+    protected List<HistoricItem> queryHistoricItems(String sql, String itemName, Function<Object, State> stateMapper)
+            throws JdbcSQLException {
+        List<HistoricItem> items = new ArrayList<>();
+        int invalidRows = 0;
+        try (Connection connection = Yank.getDefaultConnectionPool().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // some drivers (e.g. PostgreSQL) only fetch in chunks inside a transaction
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(QUERY_FETCH_SIZE);
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                    while (resultSet.next()) {
+                        Object time = resultSet.getObject(1);
+                        Object value = resultSet.getObject(2);
+                        if (time == null || value == null) {
+                            logger.debug("JDBC::queryHistoricItems skipping row time='{}' value='{}'", time, value);
+                            invalidRows++;
+                            continue;
+                        }
+                        items.add(new JdbcHistoricItem(itemName, stateMapper.apply(value),
+                                objectAsZonedDateTime(time)));
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
             throw new JdbcSQLException(e);
         }
-        if (m == null) {
-            logger.debug("JDBC::doGetHistItemFilterQuery Query failed. Returning an empty list.");
-            return List.of();
+        if (invalidRows > 0) {
+            logger.warn("JDBC::queryHistoricItems skipped {} rows of item '{}' with a NULL time or value", invalidRows,
+                    itemName);
         }
-        // we already retrieve the unit here once as it is a very costly operation
-        String itemName = item.getName();
-        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
-        return m.stream()
-                .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsZonedDateTime(o[0])))
-                .collect(Collectors.<HistoricItem> toList());
+        return items;
     }
 
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
@@ -528,6 +615,48 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Creates a query returning the average value and the first time of each time bucket, or <code>null</code> if
+     * the database does not support time buckets.
+     */
+    protected @Nullable String histItemFilterAggregatedQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds) {
+        logger.debug(
+                "JDBC::histItemFilterAggregatedQueryProvider filter = {}, numberDecimalcount = {}, table = {}, bucketSeconds = {}",
+                filter, numberDecimalcount, table, bucketSeconds);
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate == null) {
+            return null;
+        }
+        // buckets start at the begin of the range, which also keeps the differences small
+        String bucket = timeBucketProvider(JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)),
+                bucketSeconds);
+        if (bucket == null) {
+            return null;
+        }
+        // SELECT MIN(time), ROUND(AVG(value),3) FROM number_item_0114 WHERE ... GROUP BY ... ORDER BY 1 DESC
+        String queryString = "SELECT MIN(time), " + averageValueProvider(numberDecimalcount) + " FROM " + table
+                + resolveTimeFilter(filter, timeZone) + " GROUP BY " + bucket
+                + (filter.getOrdering() == Ordering.ASCENDING ? " ORDER BY 1 ASC" : " ORDER BY 1 DESC");
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Creates the expression numbering the time buckets, or <code>null</code> if the database does not support it.
+     *
+     * @param origin the start of the first bucket, formatted with {@link #JDBC_DATE_FORMAT}
+     * @param bucketSeconds the size of a bucket in seconds
+     */
+    protected @Nullable String timeBucketProvider(String origin, long bucketSeconds) {
+        return "TIMESTAMPDIFF(SECOND, '" + origin + "', time) DIV " + bucketSeconds;
+    }
+
+    protected String averageValueProvider(int numberDecimalcount) {
+        // rounding HALF UP
+        return numberDecimalcount > -1 ? "ROUND(AVG(value)," + numberDecimalcount + ")" : "AVG(value)";
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -559,6 +688,15 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    protected String storeTimestampedItemValueQueryProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    protected Object[] storeTimestampedItemValueParamsProvider(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, State itemState, ItemVO vo) {
         String itemType = getItemType(item);
 
@@ -704,6 +842,15 @@ public class JdbcBaseDAO {
         }
     }
 
+    protected State objectAsAggregatedState(@Nullable Unit<? extends Quantity<?>> unit, Object value) {
+        // the type of an average depends on the database and the column type, it is not necessarily the column type
+        if (unit != null) {
+            return QuantityType.valueOf(objectAsNumber(value).doubleValue(), unit);
+        }
+        return value instanceof BigDecimal valueAsBigDecimal ? new DecimalType(valueAsBigDecimal)
+                : new DecimalType(objectAsNumber(value).doubleValue());
+    }
+
     protected ZonedDateTime objectAsZonedDateTime(Object v) {
         if (v instanceof Long) {
             return ZonedDateTime.ofInstant(Instant.ofEpochMilli(((Number) v).longValue()), ZoneId.systemDefault());
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents an item state waiting in the write-behind queue, together with the time it was stored at and the number
+ * of failed attempts to write it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public record QueuedItemState(Item item, State state, ZonedDateTime date, int attempts) {
+
+    public QueuedItemState(Item item, State state, ZonedDateTime date) {
+        this(item, state, date, 0);
+    }
+
+    /**
+     * @return this state with one more failed attempt
+     */
+    public QueuedItemState retried() {
+        return new QueuedItemState(item, state, date, attempts + 1);
+    }
+}
@@ -12,14 +12,21 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -48,4 +55,35 @@ public class JdbcPersistenceServiceTest {
     void removeThrowsIllegalArgumentExceptionIfItemNameOfFilterIsNull() {
         assertThrows(IllegalArgumentException.class, () -> jdbcPersistenceService.remove(filter));
     }
+
+    @Test
+    void getAggregationBucketSizeSplitsRangeIntoMaxQueryPoints() {
+        ZonedDateTime end = ZonedDateTime.now();
+        filter.setBeginDate(end.minusDays(1));
+        filter.setEndDate(end);
+
+        assertEquals(Duration.ofSeconds(87),
+                JdbcMapper.getAggregationBucketSize(filter, new NumberItem("Test_Number"), 1000));
+    }
+
+    @Test
+    void getAggregationBucketSizeReturnsNullIfQueryIsNotAggregated() {
+        NumberItem numberItem = new NumberItem("Test_Number");
+        ZonedDateTime end = ZonedDateTime.now();
+        filter.setEndDate(end);
+        // no begin date
+        assertNull(JdbcMapper.getAggregationBucketSize(filter, numberItem, 1000));
+
+        filter.setBeginDate(end.minusDays(1));
+        // disabled
+        assertNull(JdbcMapper.getAggregationBucketSize(filter, numberItem, 0));
+        // no number item
+        assertNull(JdbcMapper.getAggregationBucketSize(filter, new StringItem("Test_String"), 1000));
+        // less than two seconds per point
+        assertNull(JdbcMapper.getAggregationBucketSize(filter, numberItem, 86400));
+
+        // paged
+        filter.setPageSize(100);
+        assertNull(JdbcMapper.getAggregationBucketSize(filter, numberItem, 1000));
+    }
 }
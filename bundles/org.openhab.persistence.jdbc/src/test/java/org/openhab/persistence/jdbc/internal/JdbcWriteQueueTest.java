@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.JdbcWriteQueue.OverflowPolicy;
+import org.openhab.persistence.jdbc.internal.dto.QueuedItemState;
+
+/**
+ * Tests the {@link JdbcWriteQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueueTest {
+
+    private final NumberItem item = new NumberItem("Test");
+
+    private QueuedItemState state(int value) {
+        return new QueuedItemState(item, new DecimalType(value), ZonedDateTime.now());
+    }
+
+    private List<Integer> values(List<QueuedItemState> states) {
+        return states.stream().map(s -> ((DecimalType) s.state()).intValue()).collect(Collectors.toList());
+    }
+
+    @Test
+    void drainReturnsStatesInQueuedOrderLimitedToBatchSize() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(10, OverflowPolicy.DROP_NEWEST, 0);
+        for (int i = 1; i <= 5; i++) {
+            queue.offer(state(i));
+        }
+
+        assertThat(values(queue.drain(3)), is(List.of(1, 2, 3)));
+        assertThat(values(queue.drain(3)), is(List.of(4, 5)));
+        assertThat(queue.isEmpty(), is(true));
+        assertThat(queue.getQueuedCount(), is(5L));
+    }
+
+    @Test
+    void dropNewestRejectsStatesWhenFull() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(2, OverflowPolicy.DROP_NEWEST, 0);
+
+        assertThat(queue.offer(state(1)), is(true));
+        assertThat(queue.offer(state(2)), is(true));
+        assertThat(queue.offer(state(3)), is(false));
+
+        assertThat(values(queue.drain(10)), is(List.of(1, 2)));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    void dropOldestEvictsHeadWhenFull() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(2, OverflowPolicy.DROP_OLDEST, 0);
+
+        queue.offer(state(1));
+        queue.offer(state(2));
+        assertThat(queue.offer(state(3)), is(true));
+
+        assertThat(values(queue.drain(10)), is(List.of(2, 3)));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    void blockGivesUpAfterTimeoutWhenFull() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(1, OverflowPolicy.BLOCK, 10);
+
+        assertThat(queue.offer(state(1)), is(true));
+        assertThat(queue.offer(state(2)), is(false));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    void requeuedStatesAreDrainedFirstInOriginalOrder() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(10, OverflowPolicy.DROP_NEWEST, 0);
+        for (int i = 1; i <= 4; i++) {
+            queue.offer(state(i));
+        }
+
+        List<QueuedItemState> failed = queue.drain(2);
+        queue.requeue(failed);
+
+        assertThat(values(queue.drain(10)), is(List.of(1, 2, 3, 4)));
+    }
+
+    @Test
+    void statesFailingTooOftenAreGivenUp() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(10, OverflowPolicy.DROP_NEWEST, 0);
+        queue.offer(state(1));
+
+        for (int attempt = 1; attempt < JdbcWriteQueue.MAX_WRITE_ATTEMPTS; attempt++) {
+            assertThat(queue.requeue(queue.drain(10)), is(0));
+        }
+        assertThat(queue.requeue(queue.drain(10)), is(1));
+
+        assertThat(queue.isEmpty(), is(true));
+        assertThat(queue.getFailedCount(), is(1L));
+    }
+
+    @Test
+    void recordFlushUpdatesStatistics() {
+        JdbcWriteQueue queue = new JdbcWriteQueue(10, OverflowPolicy.DROP_NEWEST, 0);
+        assertThat(queue.getLastFlush(), is(0L));
+
+        queue.recordFlush(8, 2);
+
+        assertThat(queue.getWrittenCount(), is(8L));
+        assertThat(queue.getFailedCount(), is(2L));
+        assertThat(queue.getBatchCount(), is(1L));
+        assertThat(queue.getLastFlush() > 0, is(true));
+    }
+
+    @Test
+    void overflowPolicyIsParsedFromConfiguration() {
+        assertThat(OverflowPolicy.fromConfig("dropOldest"), is(OverflowPolicy.DROP_OLDEST));
+        assertThat(OverflowPolicy.fromConfig("block"), is(OverflowPolicy.BLOCK));
+        assertThat(OverflowPolicy.fromConfig("dropNewest"), is(OverflowPolicy.DROP_NEWEST));
+        assertThat(OverflowPolicy.fromConfig("unknown"), is(OverflowPolicy.DROP_NEWEST));
+    }
+}
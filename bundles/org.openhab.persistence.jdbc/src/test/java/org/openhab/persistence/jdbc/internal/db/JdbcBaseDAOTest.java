@@ -16,8 +16,10 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -66,6 +68,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -160,6 +163,18 @@ public class JdbcBaseDAOTest {
                         java.sql.Timestamp.valueOf("2023-08-15 21:02:06"), null));
     }
 
+    @Test
+    void testStoreTimestampedItemValueProvidersUsePlaceholderForTime() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValue(42.0);
+        java.sql.Timestamp timestamp = java.sql.Timestamp.valueOf("2023-08-15 21:02:06");
+        String sql = jdbcBaseDAO.storeTimestampedItemValueQueryProvider(vo);
+        Object[] params = jdbcBaseDAO.storeTimestampedItemValueParamsProvider(vo, timestamp);
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+        assertThat(params, is(new Object[] { timestamp, 42.0, 42.0 }));
+    }
+
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrder() {
         String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
@@ -194,6 +209,35 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemFilterAggregatedQueryProviderReturnsGroupedSelectQuery() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemFilterAggregatedQueryProvider(filter, 3, DB_TABLE_NAME, UTC_ZONE_ID, 60);
+        assertThat(sql, is("SELECT MIN(time), ROUND(AVG(value),3) FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
+                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
+                + "' GROUP BY TIMESTAMPDIFF(SECOND, '2022-01-10 15:01:44', time) DIV 60 ORDER BY 1 ASC"));
+    }
+
+    @Test
+    void testHistItemFilterAggregatedQueryProviderWithoutStartDateReturnsNull() {
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        assertNull(jdbcBaseDAO.histItemFilterAggregatedQueryProvider(filter, 3, DB_TABLE_NAME, UTC_ZONE_ID, 60));
+    }
+
+    @Test
+    void testObjectAsAggregatedStateConvertsAverageOfAnyNumberType() {
+        assertEquals(new DecimalType(new BigDecimal("1.5")),
+                jdbcBaseDAO.objectAsAggregatedState(null, new BigDecimal("1.5")));
+        assertEquals(new DecimalType(1.5), jdbcBaseDAO.objectAsAggregatedState(null, 1.5d));
+        assertEquals(QuantityType.valueOf(2.0, SIUnits.CELSIUS),
+                jdbcBaseDAO.objectAsAggregatedState(SIUnits.CELSIUS, 2));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.types.State;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemSerializer;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializerTest {
+    private final MapDbItemSerializer serializer = new MapDbItemSerializer();
+
+    @ParameterizedTest
+    @MethodSource
+    public void readWriteRoundtripShouldRecreateTheWrittenItem(State state) throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("Test_Item");
+        item.setState(state);
+        item.setTimestamp(new Date(1685527200123L));
+
+        MapDbItem actual = Objects.requireNonNull(serializer.deserialize(serializer.serialize(item)));
+
+        assertThat(actual.getName(), is(equalTo(item.getName())));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(equalTo(item.getTimestamp())));
+    }
+
+    public static Stream<State> readWriteRoundtripShouldRecreateTheWrittenItem() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(1.123), new DecimalType(new BigDecimal("-1E+12")),
+                PercentType.HUNDRED, PercentType.valueOf("99.999"), OnOffType.ON, OnOffType.OFF, OpenClosedType.OPEN,
+                OpenClosedType.CLOSED, StringType.valueOf(""), StringType.valueOf("äöü @@@ €"),
+                StringType.valueOf("x".repeat(70000)), HSBType.fromRGB(11, 22, 33),
+                new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS));
+    }
+
+    @Test
+    public void invalidDataShouldNotBeDeserialized() {
+        assertThat(serializer.deserialize(new byte[0]), is(nullValue()));
+        assertThat(serializer.deserialize(new byte[] { 1, -1, -1, -1, -1 }), is(nullValue()));
+        assertThat(serializer.deserialize(new byte[] { 99 }), is(nullValue()));
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+
+/**
+ * Buffers documents and inserts them using one unordered bulk write per collection. The buffer is flushed when it is
+ * full and periodically. Documents of a bulk write that failed as a whole are buffered again and given up after
+ * {@link #MAX_INSERT_ATTEMPTS} attempts.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MongoDBBufferedWriter {
+    /**
+     * Documents are kept while the database is not reachable until this many times the buffer size is reached
+     */
+    private static final int MAX_PENDING_BUFFERS = 10;
+    /**
+     * Number of times the insert of a document is attempted before it is discarded
+     */
+    static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBBufferedWriter.class);
+
+    private final Function<String, @Nullable DBCollection> collectionProvider;
+    private final int bufferSize;
+    private final ScheduledFuture<?> flushJob;
+
+    private Map<String, List<PendingDocument>> buffer = new LinkedHashMap<>();
+    private int bufferedDocuments = 0;
+
+    /**
+     * A buffered document.
+     *
+     * @param document the document
+     * @param attempts the number of failed attempts to insert the document
+     */
+    private record PendingDocument(DBObject document, int attempts) {
+    }
+
+    /**
+     * @param scheduler the scheduler used to flush the buffer periodically
+     * @param collectionProvider provides the collection for a collection name, <code>null</code> if the database is
+     *            not reachable
+     * @param bufferSize the number of documents to buffer before the buffer is flushed
+     * @param flushInterval the maximum time a document is buffered
+     */
+    MongoDBBufferedWriter(ScheduledExecutorService scheduler,
+            Function<String, @Nullable DBCollection> collectionProvider, int bufferSize, Duration flushInterval) {
+        this.collectionProvider = collectionProvider;
+        this.bufferSize = bufferSize;
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add a document to the buffer. The buffer is flushed on the calling thread if it is full.
+     *
+     * @param collectionName the name of the collection to insert the document to
+     * @param document the document
+     */
+    void add(String collectionName, DBObject document) {
+        boolean full;
+        synchronized (this) {
+            buffer.computeIfAbsent(collectionName, name -> new ArrayList<>()).add(new PendingDocument(document, 0));
+            bufferedDocuments++;
+            full = bufferedDocuments >= bufferSize;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Insert all buffered documents.
+     */
+    void flush() {
+        Map<String, List<PendingDocument>> documents;
+        synchronized (this) {
+            if (bufferedDocuments == 0) {
+                return;
+            }
+            documents = buffer;
+            buffer = new LinkedHashMap<>();
+            bufferedDocuments = 0;
+        }
+
+        for (Map.Entry<String, List<PendingDocument>> entry : documents.entrySet()) {
+            String collectionName = entry.getKey();
+            List<PendingDocument> collectionDocuments = entry.getValue();
+            DBCollection collection = collectionProvider.apply(collectionName);
+            if (collection == null) {
+                requeue(collectionName, collectionDocuments);
+            } else if (!insert(collection, collectionDocuments)) {
+                retry(collectionName, collectionDocuments);
+            }
+        }
+    }
+
+    /**
+     * Stop flushing periodically and insert all buffered documents.
+     */
+    void stop() {
+        flushJob.cancel(false);
+        flush();
+        synchronized (this) {
+            if (bufferedDocuments > 0) {
+                logger.warn("MongoDB failed to finally store {} documents.", bufferedDocuments);
+            }
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the bulk write failed as a whole and should be retried
+     */
+    private boolean insert(DBCollection collection, List<PendingDocument> documents) {
+        // unordered, so a failing document does not prevent the remaining ones from being inserted
+        BulkWriteOperation bulkWrite = collection.initializeUnorderedBulkOperation();
+        documents.forEach(pending -> bulkWrite.insert(pending.document()));
+        try {
+            BulkWriteResult result = bulkWrite.execute();
+            logger.debug("MongoDB inserted {} documents into {}", result.getInsertedCount(), collection.getName());
+        } catch (BulkWriteException e) {
+            // the errors are specific to the documents, e.g. duplicate keys, so retrying would fail again
+            logger.warn("MongoDB failed to insert {} of {} documents into {}: {}", e.getWriteErrors().size(),
+                    documents.size(), collection.getName(), e.getMessage());
+        } catch (MongoException e) {
+            logger.debug("MongoDB failed to insert {} documents into {}: {}", documents.size(), collection.getName(),
+                    e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void retry(String collectionName, List<PendingDocument> documents) {
+        List<PendingDocument> retried = new ArrayList<>(documents.size());
+        for (PendingDocument pending : documents) {
+            if (pending.attempts() + 1 < MAX_INSERT_ATTEMPTS) {
+                retried.add(new PendingDocument(pending.document(), pending.attempts() + 1));
+            }
+        }
+        int givenUp = documents.size() - retried.size();
+        if (givenUp > 0) {
+            logger.warn("MongoDB failed to insert {} documents into {} {} times, discarding them", givenUp,
+                    collectionName, MAX_INSERT_ATTEMPTS);
+        }
+        requeue(collectionName, retried);
+    }
+
+    private synchronized void requeue(String collectionName, List<PendingDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        if (bufferedDocuments + documents.size() > MAX_PENDING_BUFFERS * bufferSize) {
+            logger.warn("MongoDB write buffer is full, discarding {} documents for {}", documents.size(),
+                    collectionName);
+            return;
+        }
+        // keep the order of the documents
+        List<PendingDocument> buffered = buffer.computeIfAbsent(collectionName, name -> new ArrayList<>());
+        buffered.addAll(0, documents);
+        bufferedDocuments += documents.size();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * Remembers where the pages of recent queries ended, so the following page can be queried starting at the timestamp
+ * of the last returned document (keyset pagination) instead of skipping all documents of the previous pages.
+ *
+ * The positions of an item are discarded when a new document of the item is stored, as the following pages would not
+ * match the pages of a query skipping the documents of the previous pages anymore.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MongoDBPageCursorCache {
+    private static final int MAX_ENTRIES = 100;
+
+    /**
+     * The position after the last document of a page.
+     *
+     * @param timestamp the timestamp of the last document
+     * @param documentsAtTimestamp the number of documents with this timestamp returned up to and including the page
+     */
+    record PageCursor(Date timestamp, int documentsAtTimestamp) {
+    }
+
+    private final Map<String, PageCursor> cursors = Collections
+            .synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PageCursor> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    /**
+     * Get the position after a page of a query.
+     *
+     * @param collectionName the queried collection
+     * @param filter the query filter, its page number is ignored
+     * @param pageNumber the number of the page
+     * @return the position or <code>null</code> if the page has not been queried recently
+     */
+    @Nullable
+    PageCursor get(String collectionName, FilterCriteria filter, int pageNumber) {
+        return cursors.get(key(collectionName, filter, pageNumber));
+    }
+
+    /**
+     * Remember the position after a page of a query.
+     *
+     * @param collectionName the queried collection
+     * @param filter the query filter, its page number is ignored
+     * @param pageNumber the number of the page
+     * @param cursor the position after the page
+     */
+    void put(String collectionName, FilterCriteria filter, int pageNumber, PageCursor cursor) {
+        cursors.put(key(collectionName, filter, pageNumber), cursor);
+    }
+
+    /**
+     * Discard the positions of all queries of an item.
+     *
+     * @param collectionName the collection a document of the item is stored in
+     * @param itemName the name the document of the item is stored with
+     */
+    void invalidate(String collectionName, String itemName) {
+        String prefix = String.join("|", collectionName, itemName, "");
+        synchronized (cursors) {
+            cursors.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Calculate the position after a page.
+     *
+     * @param previous the position the page was queried from or <code>null</code> if it was queried from the start
+     * @param lastTimestamp the timestamp of the last document of the page
+     * @param documentsAtLastTimestamp the number of documents at the end of the page with this timestamp
+     * @return the position after the page
+     */
+    static PageCursor next(@Nullable PageCursor previous, Date lastTimestamp, int documentsAtLastTimestamp) {
+        if (previous != null && previous.timestamp().equals(lastTimestamp)) {
+            // the whole page consists of documents with the timestamp the previous page ended with
+            return new PageCursor(lastTimestamp, previous.documentsAtTimestamp() + documentsAtLastTimestamp);
+        }
+        return new PageCursor(lastTimestamp, documentsAtLastTimestamp);
+    }
+
+    private static String key(String collectionName, FilterCriteria filter, int pageNumber) {
+        return String.join("|", collectionName, String.valueOf(filter.getItemName()),
+                String.valueOf(filter.getOrdering()), String.valueOf(filter.getOperator()),
+                String.valueOf(filter.getState()), String.valueOf(toInstant(filter.getBeginDate())),
+                String.valueOf(toInstant(filter.getEndDate())), String.valueOf(filter.getPageSize()),
+                String.valueOf(pageNumber));
+    }
+
+    private static @Nullable Instant toInstant(@Nullable ZonedDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
+}
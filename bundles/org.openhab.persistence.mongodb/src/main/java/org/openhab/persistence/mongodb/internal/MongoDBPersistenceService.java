@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.mongodb.internal;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -21,10 +22,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -50,6 +54,7 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.mongodb.internal.MongoDBPageCursorCache.PageCursor;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -65,6 +70,7 @@ import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
@@ -83,6 +89,10 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
 
+    private static final String WRITE_BUFFER_SIZE_PARAM = "writeBufferSize";
+    private static final String WRITE_BUFFER_FLUSH_INTERVAL_PARAM = "writeBufferFlushInterval";
+    private static final int DEFAULT_WRITE_BUFFER_FLUSH_INTERVAL = 1000; // in ms
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
@@ -95,6 +105,10 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     protected final ItemRegistry itemRegistry;
 
     private @Nullable MongoClient cl;
+    private @Nullable MongoDBBufferedWriter writer;
+
+    private final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
+    private final MongoDBPageCursorCache pageCursors = new MongoDBPageCursorCache();
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -127,16 +141,32 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
-        if (!tryConnectToDatabase()) {
+        if (tryConnectToDatabase()) {
+            ensureIndexes();
+        } else {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        int writeBufferSize = ConfigParser.valueAsOrElse(config.get(WRITE_BUFFER_SIZE_PARAM), Integer.class, 0);
+        if (writeBufferSize > 1) {
+            int flushInterval = ConfigParser.valueAsOrElse(config.get(WRITE_BUFFER_FLUSH_INTERVAL_PARAM),
+                    Integer.class, DEFAULT_WRITE_BUFFER_FLUSH_INTERVAL);
+            logger.debug("MongoDB write buffer size {}, flush interval {} ms", writeBufferSize, flushInterval);
+            writer = new MongoDBBufferedWriter(ThreadPoolManager.getScheduledPool("org.openhab.mongodb"),
+                    this::getCollectionForWrite, writeBufferSize, Duration.ofMillis(flushInterval));
+        }
+
         initialized = true;
     }
 
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBBufferedWriter currentWriter = writer;
+        if (currentWriter != null) {
+            currentWriter.stop();
+            writer = null;
+        }
         disconnectFromDatabase();
     }
 
@@ -163,6 +193,20 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        MongoDBBufferedWriter currentWriter = writer;
+        if (currentWriter != null) {
+            // connecting to the database is done when the buffer is flushed
+            String realItemName = item.getName();
+            String collectionName = collectionPerItem ? realItemName : this.collection;
+            String name = (alias != null) ? alias : realItemName;
+            Object value = this.convertValue(item.getState());
+            // the buffer is flushed before the next query, which then has to skip the previous pages again
+            pageCursors.invalidate(collectionName, name);
+            currentWriter.add(collectionName, createDocument(name, realItemName, value));
+            logger.debug("MongoDB buffer {}={}", name, value);
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -186,15 +230,21 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         String name = (alias != null) ? alias : realItemName;
         Object value = this.convertValue(item.getState());
 
+        // the document has a new id, so there is no need to look for an existing one to update
+        collection.insert(createDocument(name, realItemName, value));
+        pageCursors.invalidate(collectionName, name);
+
+        logger.debug("MongoDB save {}={}", name, value);
+    }
+
+    private DBObject createDocument(String name, String realItemName, Object value) {
         DBObject obj = new BasicDBObject();
         obj.put(FIELD_ID, new ObjectId());
         obj.put(FIELD_ITEM, name);
         obj.put(FIELD_REALNAME, realItemName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        collection.save(obj);
-
-        logger.debug("MongoDB save {}={}", name, value);
+        return obj;
     }
 
     private Object convertValue(State state) {
@@ -298,17 +348,51 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
             DBCollection mongoCollection = db.getDB(this.db).getCollection(collectionName);
 
-            BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            // only ensure the index once instead of with every access
+            if (indexedCollections.add(collectionName)) {
+                ensureIndex(mongoCollection);
+            }
 
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
+            indexedCollections.remove(collectionName);
             return null;
         }
     }
 
+    private @Nullable DBCollection getCollectionForWrite(String collectionName) {
+        return tryConnectToDatabase() ? connectToCollection(collectionName) : null;
+    }
+
+    /**
+     * Ensures the index used by queries exists for all collections already in the database
+     */
+    private void ensureIndexes() {
+        @Nullable
+        MongoClient db = getDatabase();
+        if (db == null) {
+            return;
+        }
+        try {
+            Set<String> collectionNames = collectionPerItem ? db.getDB(this.db).getCollectionNames()
+                    : Set.of(this.collection);
+            for (String collectionName : collectionNames) {
+                if (!collectionName.startsWith("system.")) {
+                    connectToCollection(collectionName);
+                }
+            }
+        } catch (MongoException e) {
+            logger.warn("Failed to create indexes: {}", e.getMessage());
+        }
+    }
+
+    private void ensureIndex(DBCollection mongoCollection) {
+        BasicDBObject idx = new BasicDBObject();
+        idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
+        mongoCollection.createIndex(idx);
+    }
+
     /**
      * Disconnects from the database
      */
@@ -336,6 +420,12 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return List.of();
         }
 
+        MongoDBBufferedWriter currentWriter = writer;
+        if (currentWriter != null) {
+            // make buffered documents visible to the query
+            currentWriter.flush();
+        }
+
         String collectionName = collectionPerItem ? realItemName : this.collection;
         @Nullable
         DBCollection collection = connectToCollection(collectionName);
@@ -373,6 +463,12 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             query.put(FIELD_VALUE, new BasicDBObject(op, value));
         }
 
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+        int pageNumber = filter.getPageNumber();
+        int pageSize = filter.getPageSize();
+        // continue after the previous page if it has been queried before, instead of skipping all previous pages
+        PageCursor pageCursor = pageNumber > 0 ? pageCursors.get(collectionName, filter, pageNumber - 1) : null;
+
         BasicDBObject dateQueries = new BasicDBObject();
         if (filter.getBeginDate() != null) {
             dateQueries.put("$gte", Date.from(filter.getBeginDate().toInstant()));
@@ -380,18 +476,31 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         if (filter.getEndDate() != null) {
             dateQueries.put("$lte", Date.from(filter.getEndDate().toInstant()));
         }
+        if (pageCursor != null) {
+            dateQueries.put(ascending ? "$gte" : "$lte", pageCursor.timestamp());
+        }
         if (!dateQueries.isEmpty()) {
             query.put(FIELD_TIMESTAMP, dateQueries);
         }
 
         logger.debug("Query: {}", query);
 
-        Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
+        Integer sortDir = ascending ? 1 : -1;
         DBCursor cursor = collection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
-                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
+                .skip(pageCursor != null ? pageCursor.documentsAtTimestamp() : pageNumber * pageSize)
+                .limit(pageSize);
 
+        Date lastTimestamp = null;
+        int documentsAtLastTimestamp = 0;
         while (cursor.hasNext()) {
             BasicDBObject obj = (BasicDBObject) cursor.next();
+            Date timestamp = obj.getDate(FIELD_TIMESTAMP);
+            if (timestamp.equals(lastTimestamp)) {
+                documentsAtLastTimestamp++;
+            } else {
+                lastTimestamp = timestamp;
+                documentsAtLastTimestamp = 1;
+            }
 
             final State state;
             if (item instanceof NumberItem) {
@@ -412,7 +521,12 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             }
 
             items.add(new MongoDBItem(realItemName, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+                    ZonedDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault())));
+        }
+
+        if (lastTimestamp != null && pageSize != Integer.MAX_VALUE && items.size() == pageSize) {
+            pageCursors.put(collectionName, filter, pageNumber,
+                    MongoDBPageCursorCache.next(pageCursor, lastTimestamp, documentsAtLastTimestamp));
         }
 
         return items;
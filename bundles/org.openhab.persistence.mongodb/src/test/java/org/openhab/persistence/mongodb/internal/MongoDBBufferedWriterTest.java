@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+
+/**
+ * Tests the {@link MongoDBBufferedWriter}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class MongoDBBufferedWriterTest {
+    private @NonNullByDefault({}) @Mock ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) @Mock DBCollection collection;
+    private @NonNullByDefault({}) @Mock BulkWriteOperation bulkWrite;
+    private @NonNullByDefault({}) @Mock BulkWriteResult result;
+
+    private @NonNullByDefault({}) MongoDBBufferedWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        when(collection.initializeUnorderedBulkOperation()).thenReturn(bulkWrite);
+        when(collection.getName()).thenReturn("collection");
+        writer = new MongoDBBufferedWriter(scheduler, name -> collection, 10, Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void failedDocumentsAreRetried() {
+        DBObject document = new BasicDBObject("value", 1);
+        when(bulkWrite.execute()).thenThrow(new MongoException("not available")).thenReturn(result);
+
+        writer.add("collection", document);
+        writer.flush();
+        writer.flush();
+        writer.flush();
+
+        verify(bulkWrite, times(2)).insert(document);
+        verify(bulkWrite, times(2)).execute();
+    }
+
+    @Test
+    public void documentsFailingTooOftenAreGivenUp() {
+        DBObject document = new BasicDBObject("value", 1);
+        when(bulkWrite.execute()).thenThrow(new MongoException("not available"));
+
+        writer.add("collection", document);
+        for (int i = 0; i <= MongoDBBufferedWriter.MAX_INSERT_ATTEMPTS; i++) {
+            writer.flush();
+        }
+
+        verify(bulkWrite, times(MongoDBBufferedWriter.MAX_INSERT_ATTEMPTS)).insert(document);
+        verify(bulkWrite, times(MongoDBBufferedWriter.MAX_INSERT_ATTEMPTS)).execute();
+    }
+
+    @Test
+    public void documentsFailingIndividuallyAreNotRetried() {
+        DBObject document = new BasicDBObject("value", 1);
+        when(bulkWrite.execute()).thenThrow(mock(BulkWriteException.class));
+
+        writer.add("collection", document);
+        writer.flush();
+        writer.flush();
+
+        verify(bulkWrite, times(1)).insert(document);
+        verify(bulkWrite, times(1)).execute();
+    }
+}
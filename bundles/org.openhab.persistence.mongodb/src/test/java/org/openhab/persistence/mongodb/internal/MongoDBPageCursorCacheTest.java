@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.mongodb.internal.MongoDBPageCursorCache.PageCursor;
+
+/**
+ * Tests the {@link MongoDBPageCursorCache}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBPageCursorCacheTest {
+    private final MongoDBPageCursorCache cache = new MongoDBPageCursorCache();
+
+    @Test
+    public void cursorIsOnlyFoundForTheSameQuery() {
+        FilterCriteria filter = createFilter();
+        PageCursor cursor = new PageCursor(new Date(1000), 1);
+        cache.put("collection", filter, 0, cursor);
+
+        assertEquals(cursor, cache.get("collection", createFilter(), 0));
+        assertNull(cache.get("collection", filter, 1));
+        assertNull(cache.get("other", filter, 0));
+
+        FilterCriteria otherFilter = createFilter();
+        otherFilter.setPageSize(20);
+        assertNull(cache.get("collection", otherFilter, 0));
+
+        otherFilter = createFilter();
+        otherFilter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        assertNull(cache.get("collection", otherFilter, 0));
+    }
+
+    @Test
+    public void cursorsOfAnItemAreInvalidated() {
+        FilterCriteria filter = createFilter();
+        FilterCriteria otherItemFilter = createFilter();
+        otherItemFilter.setItemName("other");
+        PageCursor cursor = new PageCursor(new Date(1000), 1);
+        cache.put("collection", filter, 0, cursor);
+        cache.put("collection", filter, 1, cursor);
+        cache.put("collection", otherItemFilter, 0, cursor);
+        cache.put("other", filter, 0, cursor);
+
+        cache.invalidate("collection", "item");
+
+        assertNull(cache.get("collection", filter, 0));
+        assertNull(cache.get("collection", filter, 1));
+        assertEquals(cursor, cache.get("collection", otherItemFilter, 0));
+        assertEquals(cursor, cache.get("other", filter, 0));
+    }
+
+    @Test
+    public void nextCursorCountsDocumentsWithTheSameTimestamp() {
+        Date first = new Date(1000);
+        Date second = new Date(2000);
+
+        PageCursor cursor = MongoDBPageCursorCache.next(null, first, 2);
+        assertEquals(new PageCursor(first, 2), cursor);
+
+        // a page consisting of documents with the same timestamp as the previous page ended with
+        cursor = MongoDBPageCursorCache.next(cursor, first, 10);
+        assertEquals(new PageCursor(first, 12), cursor);
+
+        cursor = MongoDBPageCursorCache.next(cursor, second, 1);
+        assertEquals(new PageCursor(second, 1), cursor);
+    }
+
+    private FilterCriteria createFilter() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName("item");
+        filter.setBeginDate(ZonedDateTime.parse("2023-01-01T00:00:00Z"));
+        filter.setPageSize(10);
+        return filter;
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.osgi.framework.BundleContext;
+
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientURI;
+
+/**
+ * Tests storing and querying against a MongoDB server.
+ *
+ * The tests are skipped if no server is listening on localhost:27017. A different server can be used by setting the
+ * system property <code>mongodb.url</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class MongoDBPersistenceServiceTest {
+    private static final String URL = System.getProperty("mongodb.url", "mongodb://localhost:27017");
+    private static final String DATABASE = "openhabtest";
+    private static final String ITEM_NAME = "Test_Number";
+    private static final int ITEM_COUNT = 25;
+
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistryMock;
+    private @Mock @NonNullByDefault({}) BundleContext bundleContextMock;
+
+    private final NumberItem item = new NumberItem(ITEM_NAME);
+    private @NonNullByDefault({}) MongoDBPersistenceService service;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        assumeTrue(isServerReachable(), "MongoDB server not reachable");
+        dropDatabase();
+        when(itemRegistryMock.getItem(ITEM_NAME)).thenReturn(item);
+        service = new MongoDBPersistenceService(itemRegistryMock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.deactivate(0);
+            dropDatabase();
+        }
+    }
+
+    @Test
+    public void pagesOfStoredStatesAreComplete() {
+        service.activate(bundleContextMock, Map.of("url", URL, "database", DATABASE, "collection", "test"));
+        storeItems();
+
+        assertPagesAreComplete(Ordering.ASCENDING);
+        assertPagesAreComplete(Ordering.DESCENDING);
+    }
+
+    @Test
+    public void bufferedStatesAreStored() {
+        service.activate(bundleContextMock, Map.of("url", URL, "database", DATABASE, "collection", "",
+                "writeBufferSize", 10, "writeBufferFlushInterval", 60000));
+        storeItems();
+
+        // the buffer is flushed before querying
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ITEM_NAME);
+        Set<DecimalType> states = new HashSet<>();
+        service.query(filter).forEach(historicItem -> states.add((DecimalType) historicItem.getState()));
+        assertEquals(ITEM_COUNT, states.size());
+    }
+
+    @Test
+    public void pagesMatchSkippedPagesAfterStoringBetweenPageRequests() throws InterruptedException {
+        service.activate(bundleContextMock, Map.of("url", URL, "database", DATABASE, "collection", "test"));
+        for (int i = 0; i < 10; i++) {
+            item.setState(new DecimalType(i));
+            service.store(item);
+            // distinct timestamps make the order of the pages unambiguous
+            Thread.sleep(2);
+        }
+
+        assertEquals(List.of(9, 8, 7, 6, 5), queryPageOfFive(0));
+        item.setState(new DecimalType(10));
+        service.store(item);
+
+        // the new state moves all following states one position back
+        assertEquals(List.of(5, 4, 3, 2, 1), queryPageOfFive(1));
+    }
+
+    private List<Integer> queryPageOfFive(int page) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ITEM_NAME);
+        filter.setOrdering(Ordering.DESCENDING);
+        filter.setPageSize(5);
+        filter.setPageNumber(page);
+        List<Integer> states = new ArrayList<>();
+        service.query(filter).forEach(historicItem -> states.add(((DecimalType) historicItem.getState()).intValue()));
+        return states;
+    }
+
+    private void storeItems() {
+        // most states are stored with the same timestamp as another one
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            item.setState(new DecimalType(i));
+            service.store(item);
+        }
+    }
+
+    private void assertPagesAreComplete(Ordering ordering) {
+        List<HistoricItem> results = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            FilterCriteria filter = new FilterCriteria();
+            filter.setItemName(ITEM_NAME);
+            filter.setOrdering(ordering);
+            filter.setPageSize(7);
+            filter.setPageNumber(page);
+            service.query(filter).forEach(results::add);
+        }
+
+        assertEquals(ITEM_COUNT, results.size());
+        Set<DecimalType> states = new HashSet<>();
+        for (int i = 0; i < results.size(); i++) {
+            states.add((DecimalType) results.get(i).getState());
+            if (i > 0) {
+                int comparison = results.get(i - 1).getTimestamp().compareTo(results.get(i).getTimestamp());
+                assertTrue(ordering == Ordering.ASCENDING ? comparison <= 0 : comparison >= 0);
+            }
+        }
+        assertEquals(ITEM_COUNT, states.size());
+    }
+
+    private static boolean isServerReachable() {
+        MongoClientURI uri = new MongoClientURI(URL);
+        String host = uri.getHosts().get(0);
+        int port = 27017;
+        int separator = host.lastIndexOf(':');
+        if (separator > 0) {
+            port = Integer.parseInt(host.substring(separator + 1));
+            host = host.substring(0, separator);
+        }
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void dropDatabase() {
+        MongoClient client = new MongoClient(new MongoClientURI(URL));
+        try {
+            client.dropDatabase(DATABASE);
+        } finally {
+            client.close();
+        }
+    }
+}
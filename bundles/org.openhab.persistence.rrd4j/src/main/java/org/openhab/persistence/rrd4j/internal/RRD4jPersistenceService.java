@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.rrd4j.internal;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,14 +25,19 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -78,10 +84,13 @@ import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,21 +118,40 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
+    private static final int WRITER_THREADS = 4;
+    private static final int LOCK_STRIPES = 64;
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
 
+    private final ExecutorService writer = Executors.newFixedThreadPool(WRITER_THREADS,
+            new NamedThreadFactory("RRD4j-writer"));
+
+    // guards writes and file creation per database, RrdDbPool takes care of concurrent access to the files
+    private final Lock[] databaseLocks = Stream.generate(ReentrantLock::new).limit(LOCK_STRIPES)
+            .toArray(Lock[]::new);
+
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
     private final ConcurrentSkipListMap<Long, Map<String, Double>> storageMap = new ConcurrentSkipListMap<>();
 
     private static final String DATASOURCE_STATE = "state";
 
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SYNC_PERIOD = "syncPeriod";
+    private static final String BACKEND_NIO = "nio";
+    private static final String BACKEND_FILE = "file";
+
     private static final Path DB_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "rrd4j").toAbsolutePath();
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static volatile RrdBackendFactory backendFactory = RrdBackendFactory.getDefaultFactory();
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
+    private final @Nullable Object backendConfig;
+    private final @Nullable Object syncPeriodConfig;
     private boolean active = false;
 
     public static Path getDatabasePath(String name) {
@@ -134,11 +162,19 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    public static RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        // the databases opened by the pool keep using the backend they were opened with, so it is only set here
+        backendConfig = config.get(CONFIG_BACKEND);
+        syncPeriodConfig = config.get(CONFIG_SYNC_PERIOD);
+        configureBackend(backendConfig, syncPeriodConfig);
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
@@ -188,6 +224,11 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         defaultOther.addArchives("LAST,0.5,1,720:LAST,0.5,12,10080:LAST,0.5,180,35040:LAST,0.5,2880,21900");
         rrdDefs.put(DEFAULT_OTHER, defaultOther);
 
+        if (!Objects.equals(backendConfig, config.get(CONFIG_BACKEND))
+                || !Objects.equals(syncPeriodConfig, config.get(CONFIG_SYNC_PERIOD))) {
+            logger.info("The changed rrd4j backend configuration is used after restarting the persistence service");
+        }
+
         if (config.isEmpty()) {
             logger.debug("using default configuration only");
             return;
@@ -202,6 +243,11 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 continue;
             }
 
+            if (CONFIG_BACKEND.equals(key) || CONFIG_SYNC_PERIOD.equals(key)) {
+                // already handled on activation
+                continue;
+            }
+
             String[] subkeys = key.split("\\.");
             if (subkeys.length != 2) {
                 logger.debug("config '{}' should have the format 'name.configkey'", key);
@@ -252,6 +298,50 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    /**
+     * Selects the backend used for reading and writing the database files. The NIO backend memory-maps the files and
+     * writes changed pages back every sync period (in seconds), the file backend reads and writes them directly.
+     */
+    private void configureBackend(@Nullable Object backend, @Nullable Object syncPeriod) {
+        RrdBackendFactory factory;
+        if (backend instanceof String name && BACKEND_FILE.equalsIgnoreCase(name.trim())) {
+            if (syncPeriod instanceof String period && !period.isBlank()) {
+                logger.warn("Ignoring sync period '{}', it only applies to the NIO backend", period);
+            }
+            factory = new RrdRandomAccessFileBackendFactory();
+        } else if (syncPeriod instanceof String period && !period.isBlank()) {
+            try {
+                factory = new RrdNioBackendFactory(Integer.parseInt(period.trim()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring illegal sync period '{}': {}", period, e.getMessage());
+                factory = RrdBackendFactory.getDefaultFactory();
+            }
+        } else {
+            if (backend instanceof String name && !name.isBlank() && !BACKEND_NIO.equalsIgnoreCase(name.trim())) {
+                logger.warn("Unknown backend '{}', using the NIO backend", name);
+            }
+            factory = RrdBackendFactory.getDefaultFactory();
+        }
+
+        backendFactory = factory;
+        logger.debug("Using rrd4j backend {}", factory.getClass().getSimpleName());
+    }
+
+    /**
+     * Closes the backend selected on activation, after all values have been stored and the databases are released.
+     */
+    private void closeBackend() {
+        RrdBackendFactory factory = backendFactory;
+        backendFactory = RrdBackendFactory.getDefaultFactory();
+        if (factory != RrdBackendFactory.getDefaultFactory() && factory instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j backend: {}", e.getMessage());
+            }
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
@@ -259,6 +349,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        writer.shutdown();
+        closeBackend();
     }
 
     @Override
@@ -332,14 +424,62 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Map<String, Double> values = storageMap.pollFirstEntry().getValue();
-                values.forEach((name, value) -> writePointToDatabase(name, value, timestamp));
+                writePointsToDatabase(values, timestamp);
             } else {
                 return;
             }
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    /**
+     * Writes the values of one timestamp using the writer pool. Values are partitioned by lock stripe, so the workers
+     * do not block each other. Returns after all values are written, which keeps the order of updates per item.
+     */
+    void writePointsToDatabase(Map<String, Double> values, long timestamp) {
+        if (values.size() < 2 * WRITER_THREADS) {
+            values.forEach((name, value) -> writePointToDatabase(name, value, timestamp));
+            return;
+        }
+
+        List<List<Map.Entry<String, Double>>> partitions = new ArrayList<>(WRITER_THREADS);
+        for (int i = 0; i < WRITER_THREADS; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            partitions.get(getLockStripe(entry.getKey()) % WRITER_THREADS).add(entry);
+        }
+
+        List<Callable<Object>> tasks = new ArrayList<>(WRITER_THREADS);
+        for (List<Map.Entry<String, Double>> partition : partitions) {
+            tasks.add(Executors.callable(
+                    () -> partition.forEach(e -> writePointToDatabase(e.getKey(), e.getValue(), timestamp))));
+        }
+        try {
+            writer.invokeAll(tasks);
+        } catch (RejectedExecutionException e) {
+            // the writer pool has been shut down, so store in the calling thread
+            values.forEach((name, value) -> writePointToDatabase(name, value, timestamp));
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while storing values with timestamp {} in rrd4j database", timestamp);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int getLockStripe(String name) {
+        return Math.floorMod(name.hashCode(), LOCK_STRIPES);
+    }
+
+    private void writePointToDatabase(String name, double value, long timestamp) {
+        Lock lock = databaseLocks[getLockStripe(name)];
+        lock.lock();
+        try {
+            writePointToLockedDatabase(name, value, timestamp);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writePointToLockedDatabase(String name, double value, long timestamp) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -514,12 +654,23 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+        Lock lock = databaseLocks[getLockStripe(alias)];
+        lock.lock();
+        try {
+            return getLockedDB(alias, createFileIfAbsent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private @Nullable RrdDb getLockedDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.items.ItemRegistry;
+import org.rrd4j.core.RrdBackendFactory;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+
+/**
+ * Tests the {@link RRD4jPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest {
+
+    // enough items to spread each timestamp across all writer threads
+    private static final int ITEM_COUNT = 64;
+    private static final int TIMESTAMPS = 3;
+
+    private static @TempDir @NonNullByDefault({}) Path userDataFolder;
+
+    @BeforeAll
+    public static void setUpUserDataFolder() {
+        // must happen before the service class is initialized, as it determines the database folder
+        System.setProperty(OpenHAB.USERDATA_DIR_PROG_ARGUMENT, userDataFolder.toString());
+    }
+
+    @Test
+    public void backendIsSelectedByConfiguration() {
+        RRD4jPersistenceService service = new RRD4jPersistenceService(mock(ItemRegistry.class),
+                Map.<String, Object> of("backend", "file"));
+        assertInstanceOf(RrdRandomAccessFileBackendFactory.class, RRD4jPersistenceService.getBackendFactory());
+        service.deactivate();
+
+        service = new RRD4jPersistenceService(mock(ItemRegistry.class),
+                Map.<String, Object> of("backend", "nio", "syncPeriod", "600"));
+        assertInstanceOf(RrdNioBackendFactory.class, RRD4jPersistenceService.getBackendFactory());
+        service.deactivate();
+        assertSame(RrdBackendFactory.getDefaultFactory(), RRD4jPersistenceService.getBackendFactory());
+
+        service = new RRD4jPersistenceService(mock(ItemRegistry.class), Map.of());
+        assertSame(RrdBackendFactory.getDefaultFactory(), RRD4jPersistenceService.getBackendFactory());
+        service.deactivate();
+    }
+
+    @Test
+    public void backendIsNotChangedWhileActive() {
+        RRD4jPersistenceService service = new RRD4jPersistenceService(mock(ItemRegistry.class),
+                Map.<String, Object> of("backend", "file"));
+        try {
+            RrdBackendFactory factory = RRD4jPersistenceService.getBackendFactory();
+
+            service.modified(Map.<String, Object> of("backend", "nio", "syncPeriod", "600"));
+            assertSame(factory, RRD4jPersistenceService.getBackendFactory());
+        } finally {
+            service.deactivate();
+        }
+    }
+
+    @Test
+    public void parallelWritesDoNotLoseUpdates() throws Exception {
+        List<String> names = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            names.add("Parallel" + i);
+        }
+        // small archives keep the database files tiny
+        Map<String, Object> config = new HashMap<>();
+        config.put("parallel.def", "GAUGE,600,U,U,1");
+        config.put("parallel.archives", "LAST,0.5,1,10");
+        config.put("parallel.items", String.join(",", names));
+
+        RRD4jPersistenceService service = new RRD4jPersistenceService(mock(ItemRegistry.class), config);
+        long firstTimestamp = System.currentTimeMillis() / 1000 + 1;
+        try {
+            for (int t = 0; t < TIMESTAMPS; t++) {
+                Map<String, Double> values = new HashMap<>();
+                for (int i = 0; i < ITEM_COUNT; i++) {
+                    values.put(names.get(i), (double) (t * ITEM_COUNT + i));
+                }
+                service.writePointsToDatabase(values, firstTimestamp + t);
+            }
+        } finally {
+            service.deactivate();
+        }
+
+        long lastTimestamp = firstTimestamp + TIMESTAMPS - 1;
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            String name = names.get(i);
+            RrdDb db = RrdDb.getBuilder().setPool(RRD4jPersistenceService.getDatabasePool())
+                    .setPath(RRD4jPersistenceService.getDatabasePath(name).toString()).build();
+            try {
+                assertEquals(lastTimestamp, db.getLastUpdateTime(), "last update time of " + name);
+                assertEquals((TIMESTAMPS - 1) * ITEM_COUNT + i, db.getLastDatasourceValue("state"),
+                        "last value of " + name);
+            } finally {
+                db.close();
+            }
+        }
+    }
+}
@@ -12,7 +12,12 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -28,11 +33,16 @@ import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.ReadContext;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * <p>
+ * Compiled JSonPath expressions are cached. Parsed documents are cached for a short time, so that several channels
+ * extracting values from the same payload share a single parse.
+ *
  * @author Gaël L'hopital
  * @author Sebastian Janzen
  *
@@ -41,8 +51,34 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    static final int MAX_PATH_CACHE_SIZE = 256;
+    static final int MAX_DOCUMENT_CACHE_SIZE = 16;
+    static final long DOCUMENT_CACHE_EXPIRY_MS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = Collections
+            .synchronizedMap(new LinkedHashMap<>(MAX_PATH_CACHE_SIZE, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+                    return size() > MAX_PATH_CACHE_SIZE;
+                }
+            });
+
+    // in insertion order, so the expired documents are always at the head
+    private final LinkedHashMap<String, CachedDocument> documentCache = new LinkedHashMap<>();
+    private final LongSupplier currentTimeMillis;
+
+    public JSonPathTransformationService() {
+        this(System::currentTimeMillis);
+    }
+
+    JSonPathTransformationService(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -64,7 +100,7 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getDocument(source).read(getPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -80,6 +116,54 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getPath(String jsonPathExpression) {
+        JsonPath path = pathCache.get(jsonPathExpression);
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            pathCache.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
+    private ReadContext getDocument(String source) {
+        long now = currentTimeMillis.getAsLong();
+        synchronized (documentCache) {
+            evictExpiredDocuments(now);
+            CachedDocument cached = documentCache.get(source);
+            if (cached != null) {
+                return cached.document;
+            }
+        }
+        ReadContext document = JsonPath.parse(source);
+        synchronized (documentCache) {
+            // another thread may have parsed the same source in the meantime, keep the insertion order by timestamp
+            documentCache.remove(source);
+            if (documentCache.size() >= MAX_DOCUMENT_CACHE_SIZE) {
+                Iterator<CachedDocument> iterator = documentCache.values().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+            documentCache.put(source, new CachedDocument(document, now));
+        }
+        return document;
+    }
+
+    /**
+     * Removes the expired documents, so large payloads are not kept after they are no longer transformed.
+     */
+    private void evictExpiredDocuments(long now) {
+        Iterator<CachedDocument> iterator = documentCache.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().timestamp >= DOCUMENT_CACHE_EXPIRY_MS) {
+            iterator.remove();
+        }
+    }
+
+    int getDocumentCacheSize() {
+        synchronized (documentCache) {
+            return documentCache.size();
+        }
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -104,4 +188,7 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + String.valueOf(n) + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    private record CachedDocument(ReadContext document, long timestamp) {
+    }
 }
@@ -14,6 +14,8 @@ package org.openhab.transform.jsonpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -23,11 +25,12 @@ import org.openhab.core.transform.TransformationException;
  */
 public class JSonPathTransformationServiceTest {
 
+    private final AtomicLong currentTimeMillis = new AtomicLong();
     private JSonPathTransformationService processor;
 
     @BeforeEach
     public void init() {
-        processor = new JSonPathTransformationService();
+        processor = new JSonPathTransformationService(currentTimeMillis::get);
     }
 
     @Test
@@ -127,4 +130,32 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSamePayloadIsParsedOnce() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+        assertEquals(1, processor.getDocumentCacheSize());
+
+        assertEquals("1", processor.transform("$.id", "{\"id\":1}"));
+        assertEquals(2, processor.getDocumentCacheSize());
+    }
+
+    @Test
+    public void testExpiredDocumentsAreEvicted() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        currentTimeMillis.addAndGet(JSonPathTransformationService.DOCUMENT_CACHE_EXPIRY_MS);
+
+        assertEquals("1", processor.transform("$.id", "{\"id\":1}"));
+        assertEquals(1, processor.getDocumentCacheSize());
+    }
+
+    @Test
+    public void testDocumentCacheIsBounded() throws TransformationException {
+        for (int i = 0; i < JSonPathTransformationService.MAX_DOCUMENT_CACHE_SIZE + 4; i++) {
+            assertEquals(Integer.toString(i), processor.transform("$.id", "{\"id\":" + i + "}"));
+        }
+        assertEquals(JSonPathTransformationService.MAX_DOCUMENT_CACHE_SIZE, processor.getDocumentCacheSize());
+    }
 }
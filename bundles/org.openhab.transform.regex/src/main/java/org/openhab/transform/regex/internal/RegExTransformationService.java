@@ -12,6 +12,10 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +34,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled expressions are kept in a bounded LRU cache, so that frequently used expressions (e.g. for MQTT or serial
+ * payloads) are only compiled once.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
@@ -40,6 +48,21 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    static final int MAX_CACHE_SIZE = 256;
+
+    private final Map<String, CompiledRegEx> cache = Collections
+            .synchronizedMap(new LinkedHashMap<>(MAX_CACHE_SIZE, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledRegEx> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            });
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -48,25 +71,18 @@ public class RegExTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
 
+        CompiledRegEx compiled = getCompiledRegEx(regExpression);
+
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        String substitution = compiled.substitution;
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
+            Matcher substMatcher = compiled.pattern.matcher(source.trim());
+            return compiled.global ? substMatcher.replaceAll(substitution) : substMatcher.replaceFirst(substitution);
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compiled.pattern.matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +110,68 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * Returns the compiled form of the given expression, compiling and caching it if it is not yet known.
+     *
+     * @param regExpression the expression as given to {@link #transform(String, String)}
+     * @return the compiled expression
+     */
+    private CompiledRegEx getCompiledRegEx(String regExpression) {
+        CompiledRegEx compiled = cache.get(regExpression);
+        if (compiled != null) {
+            cacheHits.incrementAndGet();
+            return compiled;
+        }
+        compiled = new CompiledRegEx(regExpression);
+        CompiledRegEx existing = cache.putIfAbsent(regExpression, compiled);
+        if (existing != null) {
+            // another thread compiled the same expression in the meantime
+            cacheHits.incrementAndGet();
+            return existing;
+        }
+        cacheMisses.incrementAndGet();
+        return compiled;
+    }
+
+    /**
+     * Returns the cache statistics of this service. The totals are kept for the lifetime of the service, so they
+     * include the lookups of expressions which have been evicted from the cache in the meantime.
+     *
+     * @return an array containing the total number of cache hits and misses
+     */
+    long[] getCacheStatistics() {
+        return new long[] { cacheHits.get(), cacheMisses.get() };
+    }
+
+    boolean isCached(String regExpression) {
+        return cache.containsKey(regExpression);
+    }
+
+    int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Holds the pre-compiled form of an expression, either a substitution (<code>s/regex/substitution/options</code>)
+     * or a plain matching expression.
+     */
+    private static class CompiledRegEx {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        CompiledRegEx(String regExpression) {
+            Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+            if (substMatcher.matches()) {
+                pattern = Pattern.compile(substMatcher.group(1));
+                substitution = substMatcher.group(2);
+                global = "g".equals(substMatcher.group(3));
+            } else {
+                pattern = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL);
+                substitution = null;
+                global = false;
+            }
+        }
+    }
 }
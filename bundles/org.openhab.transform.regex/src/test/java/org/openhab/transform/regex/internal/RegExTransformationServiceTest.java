@@ -75,4 +75,43 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledPatternIsCached() throws TransformationException {
+        String regex = ".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*";
+
+        // method under test
+        assertEquals("8", processor.transform(regex, source));
+        assertEquals("8", processor.transform(regex, source));
+        assertEquals("8", processor.transform(regex, source));
+
+        // Asserts
+        assertArrayEquals(new long[] { 2, 1 }, processor.getCacheStatistics());
+    }
+
+    @Test
+    public void testTransformByRegex_substitutionIsCached() throws TransformationException {
+        String regex = "s/([A-Z]+)([0-9]+),*/var$1=$2 /g";
+
+        // method under test
+        assertEquals("varX=12 varY=54 ", processor.transform(regex, "X12,Y54"));
+        assertEquals("varA=1 ", processor.transform(regex, "A1"));
+
+        // Asserts
+        assertArrayEquals(new long[] { 1, 1 }, processor.getCacheStatistics());
+    }
+
+    @Test
+    public void testTransformByRegex_cacheIsBounded() throws TransformationException {
+        for (int i = 0; i < RegExTransformationService.MAX_CACHE_SIZE + 10; i++) {
+            processor.transform("(" + i + ")", Integer.toString(i));
+        }
+
+        // Asserts
+        assertEquals(RegExTransformationService.MAX_CACHE_SIZE, processor.getCacheSize());
+        assertFalse(processor.isCached("(0)"));
+        processor.transform("(0)", "0");
+        assertArrayEquals(new long[] { 0, RegExTransformationService.MAX_CACHE_SIZE + 11 },
+                processor.getCacheStatistics());
+    }
 }
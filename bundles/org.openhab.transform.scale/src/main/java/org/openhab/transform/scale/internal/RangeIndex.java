@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Lookup structure for the ranges of a scale configuration.
+ *
+ * If the ranges do not overlap, they are sorted by their lower bound and looked up by binary search. Otherwise the
+ * ranges are evaluated in the order of the configuration and the first matching range is taken.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RangeIndex {
+
+    private static final Comparator<Range> LOWER_BOUND_COMPARATOR = (r1, r2) -> {
+        if (r1.min == null || r2.min == null) {
+            return r1.min == null ? (r2.min == null ? 0 : -1) : 1;
+        }
+        int cmp = r1.min.compareTo(r2.min);
+        if (cmp != 0) {
+            return cmp;
+        }
+        // an inclusive lower bound starts before an exclusive one
+        return Boolean.compare(r2.minInclusive, r1.minInclusive);
+    };
+
+    private final Range[] ranges;
+    private final String[] labels;
+    private final boolean sorted;
+
+    /**
+     * Creates an index for the given ranges.
+     *
+     * @param data ranges and their labels, in the order of the configuration
+     */
+    public RangeIndex(Map<Range, String> data) {
+        List<Map.Entry<Range, String>> entries = new ArrayList<>(data.entrySet());
+        List<Map.Entry<Range, String>> sortedEntries = entries.stream().filter(entry -> !isEmpty(entry.getKey()))
+                .sorted(Map.Entry.comparingByKey(LOWER_BOUND_COMPARATOR)).toList();
+
+        boolean overlapping = false;
+        for (int i = 1; i < sortedEntries.size(); i++) {
+            if (overlaps(sortedEntries.get(i - 1).getKey(), sortedEntries.get(i).getKey())) {
+                overlapping = true;
+                break;
+            }
+        }
+
+        List<Map.Entry<Range, String>> indexed = overlapping ? entries : sortedEntries;
+        ranges = indexed.stream().map(Map.Entry::getKey).toArray(Range[]::new);
+        labels = indexed.stream().map(Map.Entry::getValue).toArray(String[]::new);
+        sorted = !overlapping;
+    }
+
+    /**
+     * Returns the label of the range containing the given value.
+     *
+     * @param value the value to look up
+     * @return the label of the first matching range or <code>null</code> if no range contains the value
+     */
+    public @Nullable String lookup(BigDecimal value) {
+        if (sorted) {
+            // find the last range starting at or before the value, it is the only candidate
+            int low = 0;
+            int high = ranges.length - 1;
+            int candidate = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (startsAtOrBefore(ranges[mid], value)) {
+                    candidate = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return candidate >= 0 && ranges[candidate].contains(value) ? labels[candidate] : null;
+        }
+
+        for (int i = 0; i < ranges.length; i++) {
+            if (ranges[i].contains(value)) {
+                return labels[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if the ranges are looked up by binary search
+     */
+    boolean isSorted() {
+        return sorted;
+    }
+
+    private static boolean startsAtOrBefore(Range range, BigDecimal value) {
+        if (range.min == null) {
+            return true;
+        }
+        int cmp = value.compareTo(range.min);
+        return cmp > 0 || (cmp == 0 && range.minInclusive);
+    }
+
+    private static boolean isEmpty(Range range) {
+        if (range.min == null || range.max == null) {
+            return false;
+        }
+        int cmp = range.min.compareTo(range.max);
+        return cmp > 0 || (cmp == 0 && !(range.minInclusive && range.maxInclusive));
+    }
+
+    /**
+     * Checks whether two non-empty ranges overlap, the first one having a lower or equal lower bound.
+     */
+    private static boolean overlaps(Range first, Range second) {
+        if (first.max == null || second.min == null) {
+            return true;
+        }
+        int cmp = first.max.compareTo(second.min);
+        return cmp > 0 || (cmp == 0 && first.maxInclusive && second.minInclusive);
+    }
+}
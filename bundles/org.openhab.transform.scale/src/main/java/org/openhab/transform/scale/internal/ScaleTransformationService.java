@@ -79,7 +79,7 @@ public class ScaleTransformationService
     private static final Range FORMAT_RANGE = Range.range(BigDecimal.ZERO, false, BigDecimal.ZERO, false);
     private final TransformationRegistry transformationRegistry;
 
-    private final Map<String, Map<@Nullable Range, String>> cachedTransformations = new ConcurrentHashMap<>();
+    private final Map<String, ScaleConfiguration> cachedTransformations = new ConcurrentHashMap<>();
 
     @Activate
     public ScaleTransformationService(@Reference TransformationRegistry transformationRegistry) {
@@ -149,19 +149,20 @@ public class ScaleTransformationService
             if (!cachedTransformations.containsKey(transformation.getUID())) {
                 importConfiguration(transformation);
             }
-            Map<@Nullable Range, String> data = cachedTransformations.get(transformation.getUID());
+            ScaleConfiguration scale = cachedTransformations.get(transformation.getUID());
 
-            if (data != null) {
+            if (scale != null) {
+                Map<@Nullable Range, String> data = scale.data();
                 String target;
 
                 try {
                     final BigDecimal value = new BigDecimal(source);
-                    target = formatResult(data, source, value);
+                    target = formatResult(scale, source, value);
                 } catch (NumberFormatException e) {
                     // Scale can only be used with numeric inputs, so lets try to see if ever its a valid quantity type
                     try {
                         final QuantityType<?> quantity = new QuantityType<>(source);
-                        return formatResult(data, source, quantity.toBigDecimal());
+                        return formatResult(scale, source, quantity.toBigDecimal());
                     } catch (IllegalArgumentException e2) {
                         String nonNumeric = data.get(null);
                         if (nonNumeric != null) {
@@ -180,24 +181,27 @@ public class ScaleTransformationService
         throw new TransformationException("Could not find configuration '" + function + "' or failed to parse it.");
     }
 
-    private String formatResult(Map<@Nullable Range, String> data, String source, final BigDecimal value)
+    private String formatResult(ScaleConfiguration scale, String source, final BigDecimal value)
             throws TransformationException {
-        String format = data.get(FORMAT_RANGE);
-        String result = getScaleResult(data, source, value);
+        String format = scale.data().get(FORMAT_RANGE);
+        String result = getScaleResult(scale, source, value);
         return format.replaceAll(FORMAT_VALUE, source).replaceAll(FORMAT_LABEL, result);
     }
 
-    private String getScaleResult(Map<@Nullable Range, String> data, String source, final BigDecimal value)
+    private String getScaleResult(ScaleConfiguration scale, String source, final BigDecimal value)
             throws TransformationException {
-        return data.entrySet().stream().filter(entry -> entry.getKey() != null && entry.getKey().contains(value))
-                .findFirst().map(Map.Entry::getValue)
-                .orElseThrow(() -> new TransformationException("No matching range for '" + source + "'"));
+        String result = scale.index().lookup(value);
+        if (result == null) {
+            throw new TransformationException("No matching range for '" + source + "'");
+        }
+        return result;
     }
 
     private void importConfiguration(@Nullable Transformation configuration) {
         if (configuration != null) {
             try {
                 final Map<@Nullable Range, String> data = new LinkedHashMap<>();
+                final Map<Range, String> ranges = new LinkedHashMap<>();
                 data.put(FORMAT_RANGE, FORMAT_LABEL);
                 final OrderedProperties properties = new OrderedProperties();
                 String function = configuration.getConfiguration().get(Transformation.FUNCTION);
@@ -222,6 +226,7 @@ public class ScaleTransformationService
                         final Range range = Range.range(lowValue, lowerInclusive, highValue, upperInclusive);
 
                         data.put(range, value);
+                        ranges.put(range, value);
                     } else {
                         if (NON_NUMBER.equals(entry)) {
                             data.put(null, value);
@@ -235,7 +240,7 @@ public class ScaleTransformationService
                     }
                 }
 
-                cachedTransformations.put(configuration.getUID(), data);
+                cachedTransformations.put(configuration.getUID(), new ScaleConfiguration(data, new RangeIndex(ranges)));
             } catch (IOException | NumberFormatException ignored) {
             }
         }
@@ -252,4 +257,10 @@ public class ScaleTransformationService
         }
         return null;
     }
+
+    /**
+     * A parsed scale configuration with an index of its ranges, built once when the configuration is imported.
+     */
+    private record ScaleConfiguration(Map<@Nullable Range, String> data, RangeIndex index) {
+    }
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RangeIndexTest {
+
+    @Test
+    public void testNonOverlappingRangesAreSorted() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closedOpen(BigDecimal.valueOf(20), BigDecimal.valueOf(30)), "high");
+        ranges.put(Range.lessThan(BigDecimal.valueOf(10)), "low");
+        ranges.put(Range.closedOpen(BigDecimal.valueOf(10), BigDecimal.valueOf(20)), "middle");
+        ranges.put(Range.atLeast(BigDecimal.valueOf(30)), "extreme");
+
+        RangeIndex index = new RangeIndex(ranges);
+
+        assertTrue(index.isSorted());
+        assertEquals("low", index.lookup(BigDecimal.valueOf(-100)));
+        assertEquals("middle", index.lookup(BigDecimal.valueOf(10)));
+        assertEquals("middle", index.lookup(new BigDecimal("19.99")));
+        assertEquals("high", index.lookup(BigDecimal.valueOf(20)));
+        assertEquals("extreme", index.lookup(BigDecimal.valueOf(30)));
+    }
+
+    @Test
+    public void testGapsReturnNull() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.open(BigDecimal.valueOf(0), BigDecimal.valueOf(10)), "first");
+        ranges.put(Range.closed(BigDecimal.valueOf(20), BigDecimal.valueOf(30)), "second");
+
+        RangeIndex index = new RangeIndex(ranges);
+
+        assertTrue(index.isSorted());
+        assertNull(index.lookup(BigDecimal.valueOf(0)));
+        assertNull(index.lookup(BigDecimal.valueOf(15)));
+        assertNull(index.lookup(new BigDecimal("30.1")));
+        assertEquals("second", index.lookup(BigDecimal.valueOf(30)));
+    }
+
+    @Test
+    public void testOverlappingRangesKeepFirstMatch() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closed(BigDecimal.valueOf(10), BigDecimal.valueOf(20)), "first");
+        ranges.put(Range.closed(BigDecimal.valueOf(0), BigDecimal.valueOf(15)), "second");
+
+        RangeIndex index = new RangeIndex(ranges);
+
+        assertFalse(index.isSorted());
+        assertEquals("first", index.lookup(BigDecimal.valueOf(12)));
+        assertEquals("second", index.lookup(BigDecimal.valueOf(5)));
+    }
+
+    @Test
+    public void testLargeScale() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            ranges.put(Range.closedOpen(BigDecimal.valueOf(i), BigDecimal.valueOf(i + 1)), "band" + i);
+        }
+
+        RangeIndex index = new RangeIndex(ranges);
+
+        assertTrue(index.isSorted());
+        assertEquals("band0", index.lookup(BigDecimal.ZERO));
+        assertEquals("band499", index.lookup(new BigDecimal("499.5")));
+        assertEquals("band999", index.lookup(new BigDecimal("999.999")));
+        assertNull(index.lookup(BigDecimal.valueOf(1000)));
+    }
+}
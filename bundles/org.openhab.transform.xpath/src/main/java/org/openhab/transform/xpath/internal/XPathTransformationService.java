@@ -12,13 +12,21 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,19 +38,53 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Compiled XPath expressions are cached. Parsed documents are cached for a short time, so that several channels
+ * reading the same payload within one refresh cycle share a single parse.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    static final int MAX_EXPRESSION_CACHE_SIZE = 256;
+    static final int MAX_DOCUMENT_CACHE_SIZE = 16;
+    static final long DOCUMENT_CACHE_EXPIRY_MS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final XPathFactory xpathFactory = XPathFactory.newInstance();
+    private final ThreadLocal<@Nullable DocumentBuilder> documentBuilder = new ThreadLocal<>();
+
+    private final Map<String, XPathExpression> expressionCache = Collections
+            .synchronizedMap(new LinkedHashMap<>(MAX_EXPRESSION_CACHE_SIZE, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_EXPRESSION_CACHE_SIZE;
+                }
+            });
+
+    // in insertion order, so the expired documents are always at the head
+    private final LinkedHashMap<String, CachedDocument> documentCache = new LinkedHashMap<>();
+    private final LongSupplier currentTimeMillis;
+
+    public XPathTransformationService() {
+        this(System::currentTimeMillis);
+    }
+
+    XPathTransformationService(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,9 +93,80 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
+            Document doc = getDocument(source);
+            XPathExpression expr = getExpression(xpathExpression);
+
+            String transformationResult;
+            // neither compiled expressions nor DOM trees are thread-safe, so serialize the evaluation on both
+            synchronized (expr) {
+                synchronized (doc) {
+                    transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                }
+            }
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
+
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        XPathExpression expr = expressionCache.get(xpathExpression);
+        if (expr == null) {
+            XPath xpath;
+            // XPathFactory is not thread-safe
+            synchronized (xpathFactory) {
+                xpath = xpathFactory.newXPath();
+            }
+            expr = xpath.compile(xpathExpression);
+            expressionCache.put(xpathExpression, expr);
+        }
+        return expr;
+    }
+
+    private Document getDocument(String source) throws ParserConfigurationException, SAXException, IOException {
+        long now = currentTimeMillis.getAsLong();
+        synchronized (documentCache) {
+            evictExpiredDocuments(now);
+            CachedDocument cached = documentCache.get(source);
+            if (cached != null) {
+                return cached.document;
+            }
+        }
+
+        InputSource inputSource = new InputSource(new StringReader(source));
+        inputSource.setEncoding("UTF-8");
+
+        Document doc = getDocumentBuilder().parse(inputSource);
+        synchronized (documentCache) {
+            // another thread may have parsed the same source in the meantime, keep the insertion order by timestamp
+            documentCache.remove(source);
+            if (documentCache.size() >= MAX_DOCUMENT_CACHE_SIZE) {
+                Iterator<CachedDocument> iterator = documentCache.values().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+            documentCache.put(source, new CachedDocument(doc, now));
+        }
+        return doc;
+    }
+
+    /**
+     * Removes the expired documents, so large payloads are not kept after they are no longer transformed.
+     */
+    private void evictExpiredDocuments(long now) {
+        Iterator<CachedDocument> iterator = documentCache.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().timestamp >= DOCUMENT_CACHE_EXPIRY_MS) {
+            iterator.remove();
+        }
+    }
+
+    private DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilder.get();
+        if (builder == null) {
             DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
@@ -63,28 +176,20 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
-
-            logger.debug("transformation resulted in '{}'", transformationResult);
+            builder = domFactory.newDocumentBuilder();
+            documentBuilder.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
-            }
+    int getDocumentCacheSize() {
+        synchronized (documentCache) {
+            return documentCache.size();
         }
     }
+
+    private record CachedDocument(Document document, long timestamp) {
+    }
 }
@@ -14,6 +14,8 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -23,11 +25,12 @@ import org.openhab.core.transform.TransformationException;
  */
 public class XPathTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    private final AtomicLong currentTimeMillis = new AtomicLong();
     private XPathTransformationService processor;
 
     @BeforeEach
     public void init() {
-        processor = new XPathTransformationService();
+        processor = new XPathTransformationService(currentTimeMillis::get);
     }
 
     @Test
@@ -38,4 +41,54 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPathSharesParsedDocument() throws TransformationException {
+        // method under test
+        String temperature = processor.transform("//current_conditions/temp_c/@data", source);
+        String city = processor.transform("//forecast_information/city/@data", source);
+        String repeated = processor.transform("//current_conditions/temp_c/@data", source);
+
+        // Asserts
+        assertEquals("8", temperature);
+        assertEquals("Krefeld, North Rhine-Westphalia", city);
+        assertEquals("8", repeated);
+        assertEquals(1, processor.getDocumentCacheSize());
+    }
+
+    @Test
+    public void testTransformByXPathWithDifferentSources() throws TransformationException {
+        // method under test
+        String first = processor.transform("/a/@v", "<a v=\"1\"/>");
+        String second = processor.transform("/a/@v", "<a v=\"2\"/>");
+
+        // Asserts
+        assertEquals("1", first);
+        assertEquals("2", second);
+        assertEquals(2, processor.getDocumentCacheSize());
+    }
+
+    @Test
+    public void testTransformByXPathEvictsExpiredDocuments() throws TransformationException {
+        processor.transform("/a/@v", "<a v=\"1\"/>");
+        currentTimeMillis.addAndGet(XPathTransformationService.DOCUMENT_CACHE_EXPIRY_MS);
+
+        // method under test
+        String second = processor.transform("/a/@v", "<a v=\"2\"/>");
+
+        // Asserts
+        assertEquals("2", second);
+        assertEquals(1, processor.getDocumentCacheSize());
+    }
+
+    @Test
+    public void testTransformByXPathDocumentCacheIsBounded() throws TransformationException {
+        // method under test
+        for (int i = 0; i < XPathTransformationService.MAX_DOCUMENT_CACHE_SIZE + 4; i++) {
+            assertEquals(Integer.toString(i), processor.transform("/a/@v", "<a v=\"" + i + "\"/>"));
+        }
+
+        // Asserts
+        assertEquals(XPathTransformationService.MAX_DOCUMENT_CACHE_SIZE, processor.getDocumentCacheSize());
+    }
 }
@@ -14,15 +14,28 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    private static final String STYLESHEET = """
+            <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">\
+            <xsl:output method="text"/><xsl:template match="/">\
+            <xsl:value-of select="%s"/></xsl:template></xsl:stylesheet>\
+            """;
+
     private XsltTransformationService processor;
 
     @BeforeEach
@@ -38,4 +51,33 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXSLTRecompilesChangedStylesheet(@TempDir Path configFolder)
+            throws IOException, TransformationException {
+        String originalConfigFolder = System.getProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+        System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, configFolder.toString());
+        try {
+            Path transformFolder = Files
+                    .createDirectories(configFolder.resolve(TransformationService.TRANSFORM_FOLDER_NAME));
+            Path xsl = transformFolder.resolve("test.xsl");
+            Files.writeString(xsl, String.format(STYLESHEET, "/a/@first"));
+
+            // method under test
+            assertEquals("1", processor.transform("test.xsl", "<a first=\"1\" second=\"2\"/>"));
+            assertEquals("3", processor.transform("test.xsl", "<a first=\"3\" second=\"4\"/>"));
+
+            Files.writeString(xsl, String.format(STYLESHEET, "/a/@second"));
+            xsl.toFile().setLastModified(xsl.toFile().lastModified() + 2000);
+
+            // Asserts
+            assertEquals("4", processor.transform("test.xsl", "<a first=\"3\" second=\"4\"/>"));
+        } finally {
+            if (originalConfigFolder == null) {
+                System.clearProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+            } else {
+                System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, originalConfigFolder);
+            }
+        }
+    }
 }